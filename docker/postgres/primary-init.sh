@@ -0,0 +1,5 @@
+#!/bin/sh
+# プライマリ初期化時にレプリカからのストリーミングレプリケーション接続を許可する
+# （データボリューム作成時のみ実行される。既存ボリュームの場合は docker-compose down -v で作り直す）
+set -e
+echo "host replication ${POSTGRES_USER} all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,13 @@
+#!/bin/sh
+# レプリカの起動処理
+# データディレクトリが空の場合はプライマリからベースバックアップを取得し、スタンバイとして起動する
+set -e
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    until pg_basebackup -h "$PRIMARY_HOST" -U "$PGUSER" -D "$PGDATA" -R -X stream; do
+        echo "waiting for primary $PRIMARY_HOST ..."
+        rm -rf "${PGDATA:?}"/*
+        sleep 2
+    done
+    chmod 0700 "$PGDATA"
+fi
+exec postgres
@@ -0,0 +1,54 @@
+package com.example.todo.controller.form;
+
+import com.example.todo.domain.Notice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NoticeForm と Notice の相互変換のベンチマーク
+ * 更新画面の表示（from）と登録・更新の送信（toNotice）で実行される
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NoticeFormBenchmark {
+
+    private Notice notice;
+    private NoticeForm form;
+
+    @Setup
+    public void setUp() {
+        notice = new Notice();
+        notice.setId(12345L);
+        notice.setVersion(3L);
+        notice.setTitle("システムメンテナンスのお知らせ");
+        notice.setCategoryCode("1");
+        notice.setPostDate(LocalDate.of(2024, 4, 1));
+        notice.setStartDate(LocalDate.of(2024, 4, 10));
+        notice.setEndDate(LocalDate.of(2024, 4, 30));
+        notice.setContent("メンテナンス作業のため、下記の日程でサービスを停止します。".repeat(20));
+        notice.setCreatedAt(LocalDateTime.of(2024, 3, 25, 10, 0));
+        notice.setUpdatedAt(LocalDateTime.of(2024, 3, 26, 9, 30));
+
+        form = NoticeForm.from(notice);
+    }
+
+    @Benchmark
+    public NoticeForm from() {
+        return NoticeForm.from(notice);
+    }
+
+    @Benchmark
+    public Notice toNotice() {
+        return form.toNotice();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.todo.controller.form;
+
+import com.example.todo.service.query.NoticeSearchCondition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NoticeSearchForm.toCondition のベンチマーク
+ * 一覧表示の1リクエストごとに実行される検索条件の生成（日付の解析を含む）を計測する
+ * 不正な日付は例外を捕捉してnullに置き換えるため、入力誤りの多い条件では例外生成のコストが加わる
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NoticeSearchFormBenchmark {
+
+    /** 検索条件なし（初期表示） */
+    private NoticeSearchForm empty;
+    /** すべての条件に正しい値を入力 */
+    private NoticeSearchForm allValid;
+    /** 日付項目がすべて不正（parseDateの例外経路） */
+    private NoticeSearchForm invalidDates;
+
+    @Setup
+    public void setUp() {
+        empty = new NoticeSearchForm();
+
+        allValid = new NoticeSearchForm();
+        allValid.setTitle("メンテナンス");
+        allValid.setKeyword("障害 復旧");
+        allValid.setCategory("1");
+        allValid.setPostDate("2024-04-01");
+        allValid.setFrom("2024-01-01");
+        allValid.setTo("2024-12-31");
+        allValid.setEffectiveOn("2024-06-15");
+
+        invalidDates = new NoticeSearchForm();
+        invalidDates.setTitle("メンテナンス");
+        invalidDates.setPostDate("2024/04/01");
+        invalidDates.setFrom("2024-13-01");
+        invalidDates.setTo("20241231");
+        invalidDates.setEffectiveOn("today");
+    }
+
+    @Benchmark
+    public NoticeSearchCondition empty() {
+        return empty.toCondition();
+    }
+
+    @Benchmark
+    public NoticeSearchCondition allValid() {
+        return allValid.toCondition();
+    }
+
+    @Benchmark
+    public NoticeSearchCondition invalidDates() {
+        return invalidDates.toCondition();
+    }
+}
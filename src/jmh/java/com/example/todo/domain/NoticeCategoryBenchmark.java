@@ -0,0 +1,49 @@
+package com.example.todo.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NoticeCategory.labelMap のベンチマーク
+ * 一覧の結果行の描画では1行ごとに区分コードからラベルを引くため、1ページ分（100行）の参照を計測する
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NoticeCategoryBenchmark {
+
+    /** 1ページ分の区分コード（未設定・未定義のコードを含む） */
+    private String[] pageCodes;
+
+    @Setup
+    public void setUp() {
+        pageCodes = new String[100];
+        for (int i = 0; i < pageCodes.length; i++) {
+            pageCodes[i] = switch (i % 10) {
+                case 0 -> null;
+                case 1 -> "9";
+                default -> i % 2 == 0 ? "0" : "1";
+            };
+        }
+    }
+
+    @Benchmark
+    public String singleLookup() {
+        return NoticeCategory.labelMap().get("1");
+    }
+
+    @Benchmark
+    public void pageLookup(Blackhole bh) {
+        for (String code : pageCodes) {
+            bh.consume(code != null ? NoticeCategory.labelMap().get(code) : null);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.todo.service;
+
+import com.example.todo.repository.NoticeSearchQuery;
+import com.example.todo.service.query.NoticeCursor;
+import com.example.todo.service.query.NoticeSearchCondition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NoticeSearchQueryCompiler のベンチマーク
+ * 検索条件からのクエリの形の判定とパラメータの設定を計測する（JPQLはキャッシュ済み、SQLの実行は含まない）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NoticeSearchQueryCompilerBenchmark {
+
+    private static final Sort LIST_ORDER = Sort.by(Sort.Direction.DESC, "postDate", "id");
+
+    private NoticeSearchQueryCompiler compiler;
+
+    private NoticeSearchCondition titleOnly;
+    private NoticeSearchCondition allFields;
+    private NoticeSearchCondition keyword;
+    private NoticeCursor cursor;
+
+    @Setup
+    public void setUp() {
+        compiler = new NoticeSearchQueryCompiler(new SimpleMeterRegistry());
+
+        titleOnly = new NoticeSearchCondition("メンテナンス", null, null, null, null, null, null, false);
+        allFields = new NoticeSearchCondition("メンテナンス", "1", LocalDate.of(2024, 4, 1),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), null, LocalDate.of(2024, 6, 15), false);
+        keyword = new NoticeSearchCondition(null, null, null, null, null, "障害 復旧", null, false);
+        cursor = NoticeCursor.after(LocalDate.of(2024, 4, 1), 1000);
+    }
+
+    @Benchmark
+    public NoticeSearchQuery titleOnly() {
+        return compiler.summaries(titleOnly, null, LIST_ORDER);
+    }
+
+    @Benchmark
+    public NoticeSearchQuery allFields() {
+        return compiler.summaries(allFields, null, LIST_ORDER);
+    }
+
+    @Benchmark
+    public NoticeSearchQuery keyword() {
+        return compiler.summaries(keyword, null, LIST_ORDER);
+    }
+
+    @Benchmark
+    public NoticeSearchQuery keyset() {
+        return compiler.summaries(titleOnly, cursor, LIST_ORDER);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.todo.load;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * お知らせ内容の格納サイズと更新時の書き込み量の計測
+ * generateNoticesで投入したデータなどに対して実行し、圧縮の閾値（notice.content.compression-threshold）や
+ * 内容を書き直さない更新の効果を確認する
+ * <ul>
+ *   <li>格納サイズ: 内容の元の大きさと格納された大きさ、圧縮方式ごとの件数、テーブル・TOAST・インデックスの大きさ</li>
+ *   <li>更新時の書き込み量: タイトルのみ変更する更新を、内容を送り直して書き直す方式と
+ *       内容のハッシュが一致すれば書き直さない方式で実行し、WALの生成量と処理時間を比較（ロールバックするためデータは変わらない）</li>
+ * </ul>
+ * 設定（システムプロパティ、Gradleでは -Preport.xxx で指定）
+ * <ul>
+ *   <li>report.url / report.user / report.password: 接続先（既定 docker-compose.yml のDB）</li>
+ *   <li>report.updates: 更新件数（既定 1,000）</li>
+ * </ul>
+ * <pre>
+ * ./gradlew contentStorageReport -Preport.updates=5000
+ * </pre>
+ */
+public final class ContentStorageReport {
+
+    private static final String CONTENT_SQL = "SELECT count(content), COALESCE(sum(octet_length(content)), 0),"
+            + " COALESCE(sum(pg_column_size(content)), 0),"
+            + " count(*) FILTER (WHERE pg_column_compression(content) = 'lz4'),"
+            + " count(*) FILTER (WHERE pg_column_compression(content) = 'pglz')"
+            + " FROM t_notice";
+
+    private static final String RELATION_SQL = "SELECT COALESCE(sum(pg_relation_size(c.oid)), 0),"
+            + " COALESCE(sum(pg_total_relation_size(NULLIF(c.reltoastrelid, 0))), 0),"
+            + " COALESCE(sum(pg_indexes_size(c.oid)), 0)"
+            + " FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 't_notice'::regclass";
+
+    private static final String SAMPLE_SQL = "SELECT id, content FROM t_notice WHERE content IS NOT NULL"
+            + " ORDER BY md5(id::text) LIMIT ?";
+
+    private static final String REWRITE_SQL = "UPDATE t_notice SET title = title, content = ? WHERE id = ?";
+
+    private static final String SKIP_UNCHANGED_SQL = "UPDATE t_notice SET title = title,"
+            + " content = CASE WHEN content_hash = ? THEN content ELSE ? END WHERE id = ?";
+
+    private ContentStorageReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("report.url", "jdbc:postgresql://localhost:25432/todo_db");
+        String user = System.getProperty("report.user", "user");
+        String password = System.getProperty("report.password", "password");
+        int updates = Integer.getInteger("report.updates", 1000);
+
+        try (Connection con = DriverManager.getConnection(url, user, password)) {
+            printStorage(con);
+            List<Sample> samples = sample(con, updates);
+            System.out.printf("%n== update of %d notices (title only, rolled back) ==%n", samples.size());
+            System.out.printf("%-16s %14s %12s %10s%n", "mode", "WAL bytes", "WAL/update", "time ms");
+            measure(con, "rewrite", REWRITE_SQL, samples, (ps, s) -> {
+                ps.setString(1, s.content());
+                ps.setLong(2, s.id());
+            });
+            measure(con, "skip-unchanged", SKIP_UNCHANGED_SQL, samples, (ps, s) -> {
+                ps.setString(1, s.hash());
+                ps.setString(2, s.content());
+                ps.setLong(3, s.id());
+            });
+        }
+    }
+
+    private static void printStorage(Connection con) throws SQLException {
+        try (Statement st = con.createStatement()) {
+            try (ResultSet rs = st.executeQuery(CONTENT_SQL)) {
+                rs.next();
+                long rows = rs.getLong(1);
+                long raw = rs.getLong(2);
+                long stored = rs.getLong(3);
+                System.out.println("== content ==");
+                System.out.printf("notices with content : %,d (lz4 %,d / pglz %,d / uncompressed %,d)%n",
+                        rows, rs.getLong(4), rs.getLong(5), rows - rs.getLong(4) - rs.getLong(5));
+                System.out.printf("raw bytes            : %,d (avg %,d)%n", raw, rows == 0 ? 0 : raw / rows);
+                System.out.printf("stored bytes         : %,d (%.1f%% of raw)%n",
+                        stored, raw == 0 ? 0.0 : stored * 100.0 / raw);
+            }
+            try (ResultSet rs = st.executeQuery(RELATION_SQL)) {
+                rs.next();
+                System.out.println("== t_notice (all partitions) ==");
+                System.out.printf("heap bytes           : %,d%n", rs.getLong(1));
+                System.out.printf("toast bytes          : %,d%n", rs.getLong(2));
+                System.out.printf("index bytes          : %,d%n", rs.getLong(3));
+            }
+        }
+    }
+
+    private static List<Sample> sample(Connection con, int limit) throws Exception {
+        MessageDigest md5 = MessageDigest.getInstance("MD5");
+        List<Sample> samples = new ArrayList<>(limit);
+        try (PreparedStatement ps = con.prepareStatement(SAMPLE_SQL)) {
+            ps.setInt(1, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String content = rs.getString(2);
+                    String hash = HexFormat.of().formatHex(md5.digest(content.getBytes(StandardCharsets.UTF_8)));
+                    samples.add(new Sample(rs.getLong(1), content, hash));
+                }
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * 更新を1トランザクションで実行し、WALの生成量と処理時間を出力してロールバック
+     */
+    private static void measure(Connection con, String mode, String sql, List<Sample> samples, Binder binder)
+            throws SQLException {
+        con.setAutoCommit(false);
+        try (Statement st = con.createStatement(); PreparedStatement ps = con.prepareStatement(sql)) {
+            String before = lsn(st);
+            long started = System.nanoTime();
+            for (Sample sample : samples) {
+                binder.bind(ps, sample);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+            long walBytes;
+            try (ResultSet rs = st.executeQuery("SELECT pg_wal_lsn_diff(pg_current_wal_insert_lsn(), '" + before + "')")) {
+                rs.next();
+                walBytes = rs.getLong(1);
+            }
+            System.out.printf("%-16s %,14d %,12d %,10d%n",
+                    mode, walBytes, samples.isEmpty() ? 0 : walBytes / samples.size(), elapsedMillis);
+        } finally {
+            con.rollback();
+            con.setAutoCommit(true);
+        }
+    }
+
+    private static String lsn(Statement st) throws SQLException {
+        try (ResultSet rs = st.executeQuery("SELECT pg_current_wal_insert_lsn()")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    /**
+     * 計測対象のお知らせ
+     */
+    private record Sample(long id, String content, String hash) {
+    }
+
+    /**
+     * 更新文へのパラメータ設定
+     */
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement ps, Sample sample) throws SQLException;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.todo.load;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 負荷試験の結果レポート
+ * エンドポイントごとのスループットとレイテンシのパーセンタイルを集計し、表形式で出力する
+ * CSVで保存したレポートをベースラインとして指定すると、前回の実行結果との差分も出力する
+ */
+final class LoadReport {
+
+    private static final String CSV_HEADER = "endpoint,requests,errors,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+
+    /**
+     * 1エンドポイント分の集計結果（レイテンシはミリ秒）
+     */
+    record Row(String endpoint, long requests, long errors, double throughput,
+               double p50, double p90, double p99, double p999, double max) {
+
+        static Row of(String endpoint, LoadStats.Samples samples, Duration duration) {
+            long[] sorted = samples.sorted();
+            return new Row(endpoint, sorted.length, samples.errors(),
+                    sorted.length / (duration.toMillis() / 1000.0),
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0);
+        }
+
+        String toCsv() {
+            return String.format("%s,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f",
+                    endpoint, requests, errors, throughput, p50, p90, p99, p999, max);
+        }
+
+        static Row parseCsv(String line) {
+            String[] c = line.split(",");
+            return new Row(c[0], Long.parseLong(c[1]), Long.parseLong(c[2]), Double.parseDouble(c[3]),
+                    Double.parseDouble(c[4]), Double.parseDouble(c[5]), Double.parseDouble(c[6]),
+                    Double.parseDouble(c[7]), Double.parseDouble(c[8]));
+        }
+    }
+
+    private final List<Row> rows;
+
+    private LoadReport(List<Row> rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * 仮想ユーザーごとの計測値を集計（全エンドポイントの合計を"total"として末尾に追加）
+     */
+    static LoadReport of(List<LoadStats> stats, Duration duration) {
+        Map<String, LoadStats.Samples> merged = new TreeMap<>();
+        LoadStats.Samples total = new LoadStats.Samples();
+        for (LoadStats user : stats) {
+            user.samples().forEach((endpoint, samples) -> {
+                merged.computeIfAbsent(endpoint, e -> new LoadStats.Samples()).addAll(samples);
+                total.addAll(samples);
+            });
+        }
+        List<Row> rows = new ArrayList<>();
+        merged.forEach((endpoint, samples) -> rows.add(Row.of(endpoint, samples, duration)));
+        if (merged.size() > 1) {
+            rows.add(Row.of("total", total, duration));
+        }
+        return new LoadReport(rows);
+    }
+
+    /**
+     * 結果を表形式で出力
+     */
+    void print() {
+        System.out.printf("%-14s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Row r : rows) {
+            System.out.printf("%-14s %9d %7d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    r.endpoint(), r.requests(), r.errors(), r.throughput(), r.p50(), r.p90(), r.p99(), r.p999(), r.max());
+        }
+    }
+
+    /**
+     * 結果をCSVで保存
+     */
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        List<String> lines = new ArrayList<>();
+        lines.add(CSV_HEADER);
+        rows.forEach(r -> lines.add(r.toCsv()));
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        System.out.println("report: " + file);
+    }
+
+    /**
+     * ベースライン（以前に保存したレポート）との差分を出力
+     * スループットは増加、レイテンシは減少が改善
+     */
+    void printComparison(Path baselineFile) throws IOException {
+        Map<String, Row> baseline = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(baselineFile, StandardCharsets.UTF_8);
+        for (String line : lines.subList(1, lines.size())) {
+            Row row = Row.parseCsv(line);
+            baseline.put(row.endpoint(), row);
+        }
+        System.out.println("compared with " + baselineFile + ":");
+        System.out.printf("%-14s %10s %9s %9s%n", "endpoint", "req/s", "p50 ms", "p99 ms");
+        for (Row r : rows) {
+            Row base = baseline.get(r.endpoint());
+            if (base == null) {
+                continue;
+            }
+            System.out.printf("%-14s %10s %9s %9s%n", r.endpoint(),
+                    change(base.throughput(), r.throughput()), change(base.p50(), r.p50()), change(base.p99(), r.p99()));
+        }
+    }
+
+    private static String change(double before, double after) {
+        return before == 0 ? "-" : String.format("%+.1f%%", (after - before) * 100 / before);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
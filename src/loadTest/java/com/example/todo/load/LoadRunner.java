@@ -0,0 +1,159 @@
+package com.example.todo.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 負荷試験の実行基盤
+ * 仮想ユーザーごとに仮想スレッドを割り当て、前のリクエストの応答を待ってから次の操作を行う（クローズドモデル）
+ * <p>
+ * 設定（システムプロパティ、Gradleでは -Pload.xxx で指定）
+ * <ul>
+ *   <li>load.base-url: 対象アプリケーションのURL（既定 http://localhost:8080）</li>
+ *   <li>load.users: 同時ユーザー数（既定 200）</li>
+ *   <li>load.warmup / load.duration: ウォームアップ時間と計測時間（既定 10s / 60s）</li>
+ *   <li>load.seed: 操作を選ぶ乱数の種（同じ値なら同じ操作列になる）</li>
+ *   <li>load.report: 結果を保存するCSVファイル</li>
+ *   <li>load.baseline: 比較対象とする以前の結果CSVファイル</li>
+ * </ul>
+ */
+final class LoadRunner {
+
+    /**
+     * 仮想ユーザーの1操作
+     */
+    @FunctionalInterface
+    interface UserAction {
+        void run(Session session) throws Exception;
+    }
+
+    final String baseUrl = System.getProperty("load.base-url", "http://localhost:8080");
+    final int users = Integer.getInteger("load.users", 200);
+    final Duration warmup = duration(System.getProperty("load.warmup", "10s"));
+    final Duration duration = duration(System.getProperty("load.duration", "60s"));
+    final long seed = Long.getLong("load.seed", 42L);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    /**
+     * ウォームアップ後に計測し、結果を出力・保存する
+     */
+    void run(String title, UserAction action) throws Exception {
+        System.out.printf("%s: base-url=%s, users=%d, warmup=%s, duration=%s, seed=%d%n",
+                title, baseUrl, users, warmup, duration, seed);
+        execute(warmup, seed, action);
+        LoadReport report = LoadReport.of(execute(duration, seed + 1, action), duration);
+        report.print();
+
+        String reportFile = System.getProperty("load.report");
+        if (reportFile != null && !reportFile.isBlank()) {
+            report.write(Path.of(reportFile));
+        }
+        String baseline = System.getProperty("load.baseline");
+        if (baseline != null && !baseline.isBlank()) {
+            report.printComparison(Path.of(baseline));
+        }
+    }
+
+    private List<LoadStats> execute(Duration length, long runSeed, UserAction action) throws Exception {
+        long deadline = System.nanoTime() + length.toNanos();
+        List<Future<LoadStats>> futures = new ArrayList<>(users);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < users; u++) {
+                Session session = new Session(this, new Random(runSeed * 31 + u));
+                futures.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            action.run(session);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            break;
+                        } catch (Exception ex) {
+                            // 応答の解析に失敗した場合など（リクエスト自体の失敗はSessionで記録済み）
+                        }
+                    }
+                    return session.stats;
+                }));
+            }
+        }
+        List<LoadStats> stats = new ArrayList<>(users);
+        for (Future<LoadStats> future : futures) {
+            stats.add(future.get());
+        }
+        return stats;
+    }
+
+    private static Duration duration(String value) {
+        return Duration.parse("PT" + value.trim().toUpperCase());
+    }
+
+    /**
+     * 仮想ユーザー（乱数・計測値を持ち、リクエストの送信と計測を行う）
+     */
+    static final class Session {
+        final Random random;
+        final LoadStats stats = new LoadStats();
+        private final LoadRunner runner;
+
+        Session(LoadRunner runner, Random random) {
+            this.runner = runner;
+            this.random = random;
+        }
+
+        /**
+         * GETリクエストを送信し、レイテンシを記録
+         * @return 応答（失敗した場合null）
+         */
+        HttpResponse<String> get(String endpoint, String pathAndQuery) throws InterruptedException {
+            return send(endpoint, HttpRequest.newBuilder(uri(pathAndQuery)).GET(), 200);
+        }
+
+        /**
+         * フォームをPOSTし、レイテンシを記録（成功時はリダイレクトが返る）
+         * @return 応答（失敗した場合null）
+         */
+        HttpResponse<String> postForm(String endpoint, String path, String formBody) throws InterruptedException {
+            return send(endpoint, HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(formBody)), 302);
+        }
+
+        private HttpResponse<String> send(String endpoint, HttpRequest.Builder builder, int expectedStatus)
+                throws InterruptedException {
+            HttpRequest request = builder.timeout(Duration.ofSeconds(30)).build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = runner.client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != expectedStatus) {
+                    stats.error(endpoint);
+                    return null;
+                }
+                stats.record(endpoint, System.nanoTime() - start);
+                return response;
+            } catch (InterruptedException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                stats.error(endpoint);
+                return null;
+            }
+        }
+
+        private URI uri(String pathAndQuery) {
+            return URI.create(runner.baseUrl + pathAndQuery);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.todo.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 負荷試験の計測値（エンドポイントごとのレイテンシとエラー数）
+ * 仮想ユーザーごとに1つ使用し（スレッドセーフではない）、終了後にLoadReportで集計する
+ */
+final class LoadStats {
+
+    private final Map<String, Samples> samples = new TreeMap<>();
+
+    /**
+     * 成功したリクエストのレイテンシを記録
+     */
+    void record(String endpoint, long nanos) {
+        samples.computeIfAbsent(endpoint, e -> new Samples()).add(nanos);
+    }
+
+    /**
+     * 失敗したリクエストを記録
+     */
+    void error(String endpoint) {
+        samples.computeIfAbsent(endpoint, e -> new Samples()).errors++;
+    }
+
+    Map<String, Samples> samples() {
+        return samples;
+    }
+
+    /**
+     * 1エンドポイント分の計測値
+     */
+    static final class Samples {
+        private long[] values = new long[256];
+        private int size;
+        private long errors;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        /**
+         * レイテンシ（ナノ秒）を昇順で取得
+         */
+        long[] sorted() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        long errors() {
+            return errors;
+        }
+    }
+}
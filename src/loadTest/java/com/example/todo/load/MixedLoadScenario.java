@@ -0,0 +1,148 @@
+package com.example.todo.load;
+
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 画面操作を混在させた負荷シナリオ
+ * NoticeControllerの一覧検索・ページ送り・登録・更新・削除を一定の比率で行い、エンドポイントごとの結果を出力する
+ * 更新対象はNoticeDataGeneratorで投入したID（1〜load.max-id）から選び、削除対象はこのシナリオで登録したお知らせとする
+ * （設定はLoadRunnerを参照）
+ * <pre>
+ * ./gradlew mixedLoad -Pload.users=100 -Pload.duration=120s -Pload.report=build/load/mixed.csv
+ * ./gradlew mixedLoad -Pload.baseline=build/load/mixed.csv   # 前回の結果と比較
+ * </pre>
+ */
+public final class MixedLoadScenario {
+
+    /** 操作の比率（合計100） */
+    private static final int SEARCH = 60;
+    private static final int DEEP_PAGING = 10;
+    private static final int CREATE = 10;
+    private static final int UPDATE = 12;
+
+    /** ページ送りで辿る最大ページ数 */
+    private static final int MAX_DEPTH = 30;
+
+    /** 一覧の「次へ」リンク */
+    private static final Pattern NEXT_LINK = Pattern.compile("<a href=\"([^\"#]+)\"[^>]*>次へ</a>");
+    /** 更新画面のバージョン */
+    private static final Pattern VERSION_FIELD = Pattern.compile("name=\"version\" value=\"(\\d+)\"");
+    /** APIの検索結果のID */
+    private static final Pattern API_ID = Pattern.compile("\"id\":(\\d+)");
+
+    private static final long MAX_ID = Long.getLong("load.max-id", 1_000_000L);
+
+    /** このシナリオで登録したお知らせのタイトル（削除対象） */
+    private static final Queue<String> CREATED = new ConcurrentLinkedQueue<>();
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private MixedLoadScenario() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadRunner().run("mixed notice traffic", MixedLoadScenario::next);
+    }
+
+    private static void next(LoadRunner.Session session) throws Exception {
+        int dice = session.random.nextInt(100);
+        if (dice < SEARCH) {
+            session.get("search", "/notice?" + SearchLoadScenario.randomQuery(session.random));
+        } else if (dice < SEARCH + DEEP_PAGING) {
+            deepPaging(session);
+        } else if (dice < SEARCH + DEEP_PAGING + CREATE) {
+            create(session);
+        } else if (dice < SEARCH + DEEP_PAGING + CREATE + UPDATE) {
+            update(session);
+        } else {
+            delete(session);
+        }
+    }
+
+    /**
+     * 条件を絞らない一覧から「次へ」を辿って深いページまで移動
+     */
+    private static void deepPaging(LoadRunner.Session session) throws Exception {
+        String category = session.random.nextBoolean() ? "" : String.valueOf(session.random.nextInt(2));
+        StringBuilder first = new StringBuilder("/notice?searched=true");
+        SearchLoadScenario.append(first, "category", category);
+        HttpResponse<String> page = session.get("page-first", first.toString());
+        int depth = 1 + session.random.nextInt(MAX_DEPTH);
+        for (int i = 0; i < depth && page != null; i++) {
+            Matcher next = NEXT_LINK.matcher(page.body());
+            if (!next.find()) {
+                return;
+            }
+            page = session.get("page-next", next.group(1).replace("&amp;", "&"));
+        }
+    }
+
+    private static void create(LoadRunner.Session session) throws Exception {
+        String title = "load-" + ProcessHandle.current().pid() + "-" + SEQUENCE.incrementAndGet();
+        if (session.postForm("create", "/notice", noticeForm(session, title, null, null)) != null) {
+            CREATED.add(title);
+        }
+    }
+
+    /**
+     * 更新画面を表示し、表示時のバージョンで更新を送信
+     */
+    private static void update(LoadRunner.Session session) throws Exception {
+        long id = 1 + (long) (session.random.nextDouble() * MAX_ID);
+        HttpResponse<String> form = session.get("edit-form", "/notice/edit?id=" + id);
+        if (form == null) {
+            return;
+        }
+        Matcher version = VERSION_FIELD.matcher(form.body());
+        if (!version.find()) {
+            return;
+        }
+        String title = "更新テスト " + id;
+        session.postForm("update", "/notice/update", noticeForm(session, title, id, Long.parseLong(version.group(1))));
+    }
+
+    /**
+     * このシナリオで登録したお知らせを1件削除（未登録の場合は登録）
+     */
+    private static void delete(LoadRunner.Session session) throws Exception {
+        String title = CREATED.poll();
+        if (title == null) {
+            create(session);
+            return;
+        }
+        HttpResponse<String> found = session.get("api-search", "/api/notices?title=" + encode(title));
+        if (found == null) {
+            return;
+        }
+        Matcher id = API_ID.matcher(found.body());
+        if (id.find()) {
+            session.postForm("delete", "/notice/delete", "selectedIds=" + id.group(1));
+        }
+    }
+
+    private static String noticeForm(LoadRunner.Session session, String title, Long id, Long version) {
+        LocalDate postDate = LocalDate.of(2024, 1, 1).plusDays(session.random.nextInt(730));
+        StringBuilder body = new StringBuilder();
+        if (id != null) {
+            body.append("id=").append(id).append("&version=").append(version).append('&');
+        }
+        return body.append("title=").append(encode(title))
+                .append("&category=").append(session.random.nextInt(2))
+                .append("&postDate=").append(postDate)
+                .append("&startDate=").append(postDate)
+                .append("&endDate=").append(postDate.plusDays(30))
+                .append("&content=").append(encode("負荷試験で登録した内容です。"))
+                .toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.todo.load;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * 負荷試験用のお知らせデータ生成
+ * 乱数の種と基準日が同じであれば同じデータを生成し、COPYでt_noticeに一括投入する
+ * スキーマはアプリケーションを一度起動してマイグレーションを適用しておくこと
+ * <p>
+ * 設定（システムプロパティ、Gradleでは -Pgen.xxx で指定）
+ * <ul>
+ *   <li>gen.url / gen.user / gen.password: 接続先（既定 docker-compose.yml のDB）</li>
+ *   <li>gen.rows: 生成件数（既定 1,000,000）</li>
+ *   <li>gen.seed: 乱数の種（既定 42）</li>
+ *   <li>gen.base-date: 基準日。掲載日は基準日から過去5年に分布する（既定 2025-01-01）</li>
+ *   <li>gen.truncate: 投入前に既存データを削除するか（既定 false）</li>
+ * </ul>
+ * <pre>
+ * ./gradlew generateNotices -Pgen.rows=1000000 -Pgen.truncate=true
+ * </pre>
+ */
+public final class NoticeDataGenerator {
+
+    private static final String COPY_SQL = "COPY t_notice (id, title, category_cd, post_date, start_date, end_date,"
+            + " content, version, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+
+    /** COPYへの書き込み単位（文字数） */
+    private static final int FLUSH_CHARS = 256 * 1024;
+
+    private static final String[] SERVICES = {
+            "会員サイト", "予約システム", "決済サービス", "スマートフォンアプリ", "メール配信", "ポイントサービス",
+            "オンラインストア", "問い合わせ窓口", "社内ポータル", "勤怠システム", "経費精算", "ファイル共有"};
+    private static final String[] INFO_TOPICS = {
+            "機能追加", "仕様変更", "定期メンテナンス", "利用規約の改定", "画面デザインの変更", "料金改定",
+            "キャンペーン", "営業時間の変更", "新サービス開始", "操作マニュアルの更新"};
+    private static final String[] INCIDENTS = {
+            "障害発生", "緊急メンテナンス", "不具合", "サービス停止", "セキュリティ更新", "接続遅延"};
+    private static final String[] SENTENCES = {
+            "いつもご利用いただきありがとうございます。",
+            "下記の日程でメンテナンス作業を実施いたします。",
+            "作業中は一部の機能がご利用いただけません。",
+            "ご不便をおかけしますが、ご理解とご協力をお願いいたします。",
+            "詳細は添付の資料をご確認ください。",
+            "本件に関するお問い合わせは問い合わせ窓口までご連絡ください。",
+            "現在、原因を調査しております。",
+            "復旧の見込みが立ち次第、改めてお知らせいたします。",
+            "対象となるお客様には個別にご連絡いたします。",
+            "変更後の内容は適用開始日より有効となります。",
+            "以前のバージョンは適用終了日をもってサポートを終了いたします。",
+            "引き続きよろしくお願いいたします。"};
+
+    private NoticeDataGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("gen.url", "jdbc:postgresql://localhost:25432/todo_db");
+        String user = System.getProperty("gen.user", "user");
+        String password = System.getProperty("gen.password", "password");
+        long rows = Long.getLong("gen.rows", 1_000_000L);
+        long seed = Long.getLong("gen.seed", 42L);
+        LocalDate baseDate = LocalDate.parse(System.getProperty("gen.base-date", "2025-01-01"));
+        boolean truncate = Boolean.getBoolean("gen.truncate");
+
+        try (Connection con = DriverManager.getConnection(url, user, password)) {
+            con.setAutoCommit(false);
+            try (Statement st = con.createStatement()) {
+                if (truncate) {
+                    st.execute("TRUNCATE t_notice");
+                }
+                long firstId;
+                try (ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM t_notice")) {
+                    rs.next();
+                    firstId = rs.getLong(1);
+                }
+
+                long startedAt = System.nanoTime();
+                copy(con, new Generator(new Random(seed), baseDate), firstId, rows);
+                // アプリケーションからの採番が投入したIDと重複しないようシーケンスを進める
+                st.execute("SELECT setval('t_notice_seq', (SELECT MAX(id) FROM t_notice))");
+                con.commit();
+                long copiedAt = System.nanoTime();
+                st.execute("ANALYZE t_notice");
+                con.commit();
+
+                double seconds = (copiedAt - startedAt) / 1_000_000_000.0;
+                System.out.printf("generated %d notices (id %d-%d) in %.1fs (%.0f rows/s), seed=%d, base-date=%s%n",
+                        rows, firstId, firstId + rows - 1, seconds, rows / seconds, seed, baseDate);
+            }
+        }
+    }
+
+    private static void copy(Connection con, Generator generator, long firstId, long rows) throws Exception {
+        CopyIn copy = con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 8192);
+            for (long i = 0; i < rows; i++) {
+                generator.appendRow(buffer, firstId + i);
+                if (buffer.length() >= FLUSH_CHARS) {
+                    write(copy, buffer);
+                }
+            }
+            write(copy, buffer);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private static void write(CopyIn copy, StringBuilder buffer) throws Exception {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    /**
+     * 1行分のデータを生成
+     * <ul>
+     *   <li>区分: 情報 80% / 重要 20%</li>
+     *   <li>掲載日: 基準日に近いほど多い（平均1年の指数分布、最大5年前）、0.5%は未設定</li>
+     *   <li>適用期間: 掲載日の0〜14日後から開始し、平均60日（10%は終了日なし）</li>
+     *   <li>内容: 2〜20文</li>
+     * </ul>
+     */
+    private static final class Generator {
+        private final Random random;
+        private final LocalDate baseDate;
+
+        Generator(Random random, LocalDate baseDate) {
+            this.random = random;
+            this.baseDate = baseDate;
+        }
+
+        void appendRow(StringBuilder out, long id) {
+            boolean important = random.nextInt(100) < 20;
+            String service = pick(SERVICES);
+            String title = important
+                    ? "【重要】" + service + "の" + pick(INCIDENTS) + "について"
+                    : service + "の" + pick(INFO_TOPICS) + "のお知らせ";
+
+            LocalDate postDate = baseDate.minusDays(Math.min((long) exponential(365), 5 * 365));
+            LocalDate startDate = postDate.plusDays(random.nextInt(15));
+            LocalDate endDate = random.nextInt(100) < 10 ? null : startDate.plusDays(7 + (long) exponential(60));
+            boolean noPostDate = random.nextInt(1000) < 5;
+
+            StringBuilder content = new StringBuilder();
+            int sentences = 2 + random.nextInt(19);
+            for (int i = 0; i < sentences; i++) {
+                content.append(pick(SENTENCES));
+                if (random.nextInt(4) == 0) {
+                    content.append('\n');
+                }
+            }
+            LocalDateTime createdAt = postDate.atTime(9, 0).plusMinutes(random.nextInt(600));
+
+            out.append(id).append(',');
+            quote(out, title).append(',');
+            out.append(important ? '1' : '0').append(',');
+            out.append(noPostDate ? "" : postDate.toString()).append(',');
+            out.append(startDate).append(',');
+            out.append(endDate != null ? endDate.toString() : "").append(',');
+            quote(out, content.toString()).append(',');
+            out.append("0,").append(createdAt).append(',').append(createdAt).append('\n');
+        }
+
+        private String pick(String[] values) {
+            return values[random.nextInt(values.length)];
+        }
+
+        private double exponential(double mean) {
+            return -mean * Math.log(1 - random.nextDouble());
+        }
+
+        private static StringBuilder quote(StringBuilder out, String value) {
+            return out.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.todo.load;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * お知らせ一覧検索（GET /notice）の負荷シナリオ
+ * 検索条件を変えながら一覧検索のみを繰り返し、スループットとレイテンシのパーセンタイルを出力する
+ * アプリケーションをプラットフォームスレッド（VIRTUAL_THREADS=false）と仮想スレッド（VIRTUAL_THREADS=true）で
+ * それぞれ起動して実行し、結果を比較する（設定はLoadRunnerを参照）
+ * <pre>
+ * ./gradlew searchLoad -Pload.users=400 -Pload.duration=60s
+ * </pre>
+ */
+public final class SearchLoadScenario {
+
+    private static final String[] TITLES = {"", "", "", "メンテナンス", "障害", "お知らせ", "更新", "a"};
+    private static final String[] CATEGORIES = {"", "", "0", "1"};
+
+    private SearchLoadScenario() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadRunner().run("GET /notice search",
+                session -> session.get("search", "/notice?" + randomQuery(session.random)));
+    }
+
+    /**
+     * 検索条件を無作為に組み立てる（深いページ・キャッシュに載らない条件も含める）
+     */
+    static String randomQuery(Random random) {
+        StringBuilder query = new StringBuilder("searched=true");
+        append(query, "title", TITLES[random.nextInt(TITLES.length)]);
+        append(query, "category", CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        if (random.nextInt(4) == 0) {
+            append(query, "effectiveOn", LocalDate.of(2024, 1, 1).plusDays(random.nextInt(730)).toString());
+        }
+        if (random.nextInt(5) == 0) {
+            append(query, "from", LocalDate.of(2023, 1, 1).plusDays(random.nextInt(1095)).toString());
+        }
+        append(query, "page", String.valueOf(random.nextInt(10) == 0 ? random.nextInt(200) : random.nextInt(3)));
+        return query.toString();
+    }
+
+    static void append(StringBuilder query, String name, String value) {
+        if (!value.isEmpty()) {
+            query.append('&').append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.todo.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * お知らせエンティティの第2レベルキャッシュ（Hibernate + Caffeine JCache）の設定
+ * 編集画面の表示（findById）をDBに問い合わせずに返すため、Noticeエンティティを同一プロセス内にキャッシュする
+ * <ul>
+ *   <li>上限: 内容の長さで見積もったバイト数（notice.cache.max-size）</li>
+ *   <li>有効期間: 登録・更新からの経過時間（notice.cache.ttl）</li>
+ * </ul>
+ * 登録時はコミット後にキャッシュへ格納する
+ * 更新・削除・アーカイブはエンティティを読み込まないSQLで行い、変更するIDのエントリのみをトランザクション完了までロックする
+ * （NoticeEntityCacheLock。ロック中と、コミット後に変更前のバージョンを読み込んだ場合はキャッシュに格納しない）
+ * 他ノードでの変更はNoticeInvalidationBusがIDごと、パーティションの切り離しはNoticePartitionManagerがリージョン全体を破棄する
+ * ヒット・ミス件数はメトリクス（cache.gets{cache=notice}、hibernate.second.level.cache.requests）として公開する
+ */
+@Configuration(proxyBeanMethods = false)
+public class NoticeEntityCacheConfiguration {
+
+    /** Noticeエンティティのキャッシュリージョン名 */
+    public static final String REGION = "notice";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager noticeEntityCacheManager(@Value("${notice.cache.max-size:64MB}") DataSize maxSize,
+                                                 @Value("${notice.cache.ttl:10m}") Duration ttl,
+                                                 MeterRegistry registry) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumWeight(OptionalLong.of(maxSize.toBytes()));
+        config.setWeigherFactory(Optional.of(new FactoryBuilder.SingletonFactory<>(new NoticeEntityCacheWeigher())));
+        config.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        config.setStatisticsEnabled(true);
+
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager manager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        Cache<Object, Object> cache = manager.getCache(REGION) != null
+                ? manager.getCache(REGION)
+                : manager.createCache(REGION, config);
+        JCacheMetrics.monitor(registry, cache);
+        return manager;
+    }
+
+    /**
+     * Hibernateに上記のキャッシュマネージャーを使用させる（リージョンは作成済みのものを使用する）
+     */
+    @Bean
+    public HibernatePropertiesCustomizer noticeEntityCacheCustomizer(CacheManager noticeEntityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, noticeEntityCacheManager);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.todo.config;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+
+/**
+ * お知らせエンティティキャッシュの1エントリのおおよそのバイト数を求めるウェイア
+ * 内容（content）の長さはお知らせごとに大きく異なるため、エントリ数ではなくバイト数でキャッシュの上限を管理する
+ * 文字列は1文字2バイト（UTF-16）として見積もる
+ */
+class NoticeEntityCacheWeigher implements Weigher<Object, Object> {
+
+    /** キー・ラッパー・日付などの固定部分の見積もり */
+    static final int ENTRY_OVERHEAD = 256;
+
+    /** 文字列オブジェクト自体の見積もり */
+    private static final int STRING_OVERHEAD = 40;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        // READ_WRITEではエントリが更新中のロックと区別するためのラッパーに包まれている
+        Object entry = value instanceof AbstractReadWriteAccess.Item item ? item.getValue() : value;
+        if (!(entry instanceof CacheEntry cacheEntry)) {
+            return ENTRY_OVERHEAD;
+        }
+        long bytes = ENTRY_OVERHEAD;
+        for (Object field : cacheEntry.getDisassembledState()) {
+            if (field instanceof String text) {
+                bytes += STRING_OVERHEAD + 2L * text.length();
+            }
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.todo.config;
+
+import com.example.todo.service.event.NoticeChangedEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * 自分の更新を直後の参照で確実に読めるようにするフィルター（Read-your-writes）
+ * お知らせを登録・更新・削除したクライアントにCookieを発行し、期限までの読み取り専用トランザクションをプライマリで処理させる
+ * 期限はレプリカの許容遅延とヘルスチェック間隔の合計とし、期限後に振り分けられるレプリカには更新が反映済みとなる
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    /** プライマリで処理する期限（エポックミリ秒）を保持するCookie */
+    static final String COOKIE_NAME = "NOTICE_PRIMARY_UNTIL";
+
+    /** Cookie発行済みを示すリクエスト属性 */
+    private static final String ISSUED_ATTRIBUTE = ReadYourWritesFilter.class.getName() + ".ISSUED";
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    /**
+     * 現在のリクエストをプライマリで処理すべきか
+     */
+    static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        PINNED.set(hasRecentWrite(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    /**
+     * お知らせ変更のコミット後に、変更したクライアントにCookieを発行
+     * 同じリクエスト内の以降の参照もプライマリで処理する
+     */
+    @TransactionalEventListener
+    public void onNoticeChanged(NoticeChangedEvent event) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || attributes.getResponse() == null) {
+            return;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        PINNED.set(true);
+        if (request.getAttribute(ISSUED_ATTRIBUTE) != null) {
+            return;
+        }
+        request.setAttribute(ISSUED_ATTRIBUTE, Boolean.TRUE);
+        Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(System.currentTimeMillis() + window.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+        attributes.getResponse().addCookie(cookie);
+    }
+
+    private static boolean hasRecentWrite(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
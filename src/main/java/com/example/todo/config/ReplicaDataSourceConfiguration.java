@@ -0,0 +1,79 @@
+package com.example.todo.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * プライマリ・レプリカ構成のDataSource設定（notice.replica.urlsを指定した場合のみ有効）
+ * 読み取り専用トランザクション（@Transactional(readOnly = true)）をレプリカ、それ以外をプライマリで処理する
+ * トランザクション開始時点では読み取り専用かどうかが接続に反映されていないため、
+ * LazyConnectionDataSourceProxyで最初のSQL発行まで接続の取得を遅らせて振り分ける
+ * <p>
+ * プライマリはspring.datasource.*、レプリカは同じ認証情報とプール設定で接続する
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${notice.replica.urls:}'.isBlank()")
+public class ReplicaDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             @Value("${notice.replica.urls}") List<String> urls,
+                                                             @Value("${notice.replica.max-lag:5s}") Duration maxLag,
+                                                             @Value("${notice.replica.health-check-interval:5s}")
+                                                             Duration healthCheckInterval,
+                                                             MeterRegistry registry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("notice-replica-" + (i + 1));
+            config.setJdbcUrl(urls.get(i).trim());
+            config.setUsername(primaryDataSource.getUsername());
+            config.setPassword(primaryDataSource.getPassword());
+            config.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+            config.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            config.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            config.setReadOnly(true);
+            // 起動時にレプリカが停止していても起動できるよう、接続確認はヘルスチェックに任せる
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag, healthCheckInterval, registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${notice.replica.max-lag:5s}") Duration maxLag,
+            @Value("${notice.replica.health-check-interval:5s}") Duration healthCheckInterval) {
+        return new ReadYourWritesFilter(maxLag.plus(healthCheckInterval));
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.todo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 読み取り専用トランザクションの接続先をレプリカに振り分けるDataSource
+ * LazyConnectionDataSourceProxyの読み取り専用DataSourceとして使用する（設定はReplicaDataSourceConfiguration）
+ * <ul>
+ *   <li>正常なレプリカに順番に振り分ける</li>
+ *   <li>定期的に各レプリカの遅延を確認し、接続できない・プライマリからWALを受信していない・遅延が上限を超えたレプリカは振り分け対象から外す</li>
+ *   <li>正常なレプリカがない場合、または直前に更新したクライアント（ReadYourWritesFilter）はプライマリに接続する</li>
+ * </ul>
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    /**
+     * レプリカの状態（リカバリ中か、プライマリからWALを受信しているか、遅延秒数）
+     * 受信済みのWALをすべて適用済みの場合は、プライマリで更新がないだけのため遅延0とする
+     * ただし上流との接続が切れた場合も受信済み＝適用済みとなるため、WAL受信プロセスが受信中（streaming）であることを併せて確認する
+     * （pg_stat_wal_receiverの参照には pg_monitor ロールが必要）
+     * レプリケーション中でない（プライマリとして動作している）場合は遅延0とする
+     */
+    private static final String STATUS_SQL = "SELECT pg_is_in_recovery(),"
+            + " EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming'),"
+            + " COALESCE(CASE"
+            + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END, 0)";
+
+    /**
+     * レプリカ
+     */
+    static final class Replica {
+        final String name;
+        final HikariDataSource dataSource;
+        volatile boolean available;
+        volatile double lagSeconds;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    /** 振り分け対象のレプリカが変更を適用するまでの最大時間（遅延の上限＋ヘルスチェック間隔） */
+    private final Duration staleWindow;
+    private final Counter fallbacks;
+    private final AtomicInteger next = new AtomicInteger();
+    /** 振り分け対象のレプリカ（ヘルスチェックごとに置き換える） */
+    private volatile List<Replica> healthy = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaDataSources, Duration maxLag,
+                                    Duration healthCheckInterval, MeterRegistry registry) {
+        this.primary = primary;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.staleWindow = maxLag.plus(healthCheckInterval);
+        List<Replica> list = new ArrayList<>();
+        for (HikariDataSource dataSource : replicaDataSources) {
+            Replica replica = new Replica(dataSource.getPoolName(), dataSource);
+            Gauge.builder("notice.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag of the replica")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(registry);
+            Gauge.builder("notice.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("Whether read-only transactions are routed to the replica")
+                    .tag("replica", replica.name)
+                    .register(registry);
+            list.add(replica);
+        }
+        this.replicas = List.copyOf(list);
+        this.fallbacks = Counter.builder("notice.replica.fallbacks")
+                .description("Read-only connections served by the primary because no replica was available")
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWritesFilter.isPinnedToPrimary()) {
+            return primary.getConnection();
+        }
+        List<Replica> candidates = healthy;
+        if (candidates.isEmpty()) {
+            fallbacks.increment();
+            return primary.getConnection();
+        }
+        Replica replica = candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException ex) {
+            // 次回のヘルスチェックまで振り分け対象から外し、今回はプライマリで処理する
+            markUnavailable(replica, ex.getMessage());
+            fallbacks.increment();
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * 現在のリクエストの読み取りが、指定日時の変更を適用していないレプリカで処理される可能性があるか
+     * 振り分け対象のレプリカは遅延の上限とヘルスチェック間隔の合計より前の変更を適用済みのため、それより前の変更はfalse
+     * @param changedAt 変更日時
+     */
+    public boolean mayReadBefore(Instant changedAt) {
+        if (ReadYourWritesFilter.isPinnedToPrimary() || healthy.isEmpty()) {
+            return false;
+        }
+        return changedAt.plus(staleWindow).isAfter(Instant.now());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+    }
+
+    /**
+     * 各レプリカの遅延を確認し、振り分け対象を更新
+     */
+    @Scheduled(fixedDelayString = "${notice.replica.health-check-interval:5s}")
+    public void checkReplicas() {
+        List<Replica> available = new ArrayList<>();
+        for (Replica replica : replicas) {
+            try {
+                ReplicaStatus status = status(replica);
+                double lag = status.lagSeconds();
+                replica.lagSeconds = lag;
+                if (!status.receiving()) {
+                    markUnavailable(replica, "not receiving WAL from the primary");
+                    continue;
+                }
+                if (lag > maxLagSeconds) {
+                    markUnavailable(replica, String.format("lag %.1fs exceeds %.1fs", lag, maxLagSeconds));
+                    continue;
+                }
+                if (!replica.available) {
+                    log.info("Replica {} is available (lag {}s)", replica.name, lag);
+                }
+                replica.available = true;
+                available.add(replica);
+            } catch (SQLException ex) {
+                markUnavailable(replica, ex.getMessage());
+            }
+        }
+        healthy = List.copyOf(available);
+    }
+
+    /**
+     * レプリカの状態
+     * @param receiving プライマリからWALを受信中か（プライマリとして動作している場合true）
+     * @param lagSeconds 遅延（秒）
+     */
+    private record ReplicaStatus(boolean receiving, double lagSeconds) {
+    }
+
+    private ReplicaStatus status(Replica replica) throws SQLException {
+        try (Connection con = replica.dataSource.getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(STATUS_SQL)) {
+            rs.next();
+            boolean inRecovery = rs.getBoolean(1);
+            return new ReplicaStatus(!inRecovery || rs.getBoolean(2), rs.getDouble(3));
+        }
+    }
+
+    private void markUnavailable(Replica replica, String reason) {
+        if (replica.available) {
+            log.warn("Replica {} is unavailable, routing its reads to the primary: {}", replica.name, reason);
+        }
+        replica.available = false;
+        List<Replica> current = healthy;
+        if (current.contains(replica)) {
+            healthy = current.stream().filter(r -> r != replica).toList();
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+}
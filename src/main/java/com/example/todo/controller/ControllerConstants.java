@@ -37,9 +37,15 @@ public final class ControllerConstants {
     /** 完了メッセージ属性名 */
     public static final String ATTR_COMPLETED_MESSAGE = "completedMessage";
 
+    /** エラーメッセージ属性名 */
+    public static final String ATTR_ERROR_MESSAGE = "errorMessage";
+
     /** 結果タイプ属性名 */
     public static final String ATTR_RESULT_TYPE = "resultType";
 
+    /** 更新競合属性名 */
+    public static final String ATTR_CONFLICT = "conflict";
+
     /** 削除結果タイプ値 */
     public static final String RESULT_TYPE_DELETED = "deleted";
 
@@ -58,6 +64,23 @@ public final class ControllerConstants {
     /** 処理完了メッセージ */
     public static final String MSG_PROCESS_COMPLETED = "処理が完了しました。";
 
+    /** 条件一致削除の完了メッセージ（削除件数を埋め込む） */
+    public static final String MSG_DELETED_COUNT = "%d件のお知らせを削除しました。";
+
+    /** 更新競合メッセージ */
+    public static final String MSG_UPDATE_CONFLICT =
+            "編集中に他のユーザーがこのお知らせを更新したため、更新できませんでした。最新の内容を読み込んでから再度更新してください。";
+
+    /** アーカイブ済みのお知らせの更新エラーメッセージ */
+    public static final String MSG_ARCHIVED_NOT_EDITABLE = "アーカイブ済みのお知らせは更新できません。";
+
+    /** アーカイブ済みのお知らせの削除エラーメッセージ（削除できなかった件数を埋め込む） */
+    public static final String MSG_ARCHIVED_NOT_DELETED =
+            "アーカイブ済みのお知らせ%d件は削除できません。その他の選択したお知らせは削除しました。";
+
+    /** 更新対象のお知らせが存在しない場合のエラーメッセージ */
+    public static final String MSG_NOTICE_NOT_FOUND = "お知らせが見つかりません。他のユーザーが削除した可能性があります。";
+
     // ===================================
     // リダイレクトURL
     // ===================================
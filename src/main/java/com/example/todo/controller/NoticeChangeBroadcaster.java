@@ -0,0 +1,314 @@
+package com.example.todo.controller;
+
+import com.example.todo.domain.Notice;
+import com.example.todo.domain.NoticeCategory;
+import com.example.todo.service.event.NoticeChangedEvent;
+import com.example.todo.service.event.NoticeInvalidatedEvent;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * お知らせ変更をServer-Sent Eventsで一覧画面へ配信するコンポーネント
+ * 変更のコミット後にイベントを配信待ちキューへ入れ、配信スレッド（仮想スレッド1本）が購読者ごとの送信キューへ振り分ける
+ * 待機中の接続はサーブレットの非同期処理で保持するためスレッドを占有せず、送信キューに未送信のイベントがある購読者のみ
+ * 仮想スレッドで送信する
+ * <p>
+ * キューはいずれも上限付きとし、溢れた場合は個々のイベントを捨てて一覧の再読み込みを促すイベント（reload）に置き換える
+ * （一括削除などで大量のイベントが発生した場合や、受信の遅いクライアントでメモリが増え続けないようにする）
+ * <p>
+ * メトリクス
+ * <ul>
+ *   <li>notice.stream.subscribers: 接続中の購読者数</li>
+ *   <li>notice.stream.events: 配信したイベント数</li>
+ *   <li>notice.stream.overflows: キューが溢れてreloadに置き換えた回数（queue=broadcast|subscriber）</li>
+ * </ul>
+ */
+@Component
+public class NoticeChangeBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(NoticeChangeBroadcaster.class);
+
+    /** SSEのイベント名 */
+    private static final String EVENT_NAME = "notice";
+
+    /** 切断時にクライアントが再接続するまでの待ち時間（ミリ秒） */
+    private static final long RECONNECT_MILLIS = 5000;
+
+    /** 一覧の再読み込みを促すイベント */
+    private static final Message RELOAD = new Message("reload", null, null, null, null, null, null, null);
+
+    /**
+     * 配信するイベント（一覧の結果行の表示項目、削除・アーカイブ・再読み込みの場合はIDまたは種別のみ）
+     * @param type 種別（created, updated, deleted, archived, reload）
+     * @param id お知らせID
+     * @param title タイトル
+     * @param categoryCode お知らせ区分コード
+     * @param categoryLabel お知らせ区分ラベル
+     * @param postDate 掲載日
+     * @param startDate 適用開始日
+     * @param endDate 適用終了日
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Message(String type, Long id, String title, String categoryCode, String categoryLabel,
+                          LocalDate postDate, LocalDate startDate, LocalDate endDate) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final int maxSubscribers;
+    private final int subscriberBuffer;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<Message> pending;
+    private final AtomicBoolean pendingOverflowed = new AtomicBoolean();
+    private final AtomicLong sequence = new AtomicLong();
+    /** 購読者への送信（未送信のイベントがある間のみ購読者ごとに1本） */
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+    private final Counter events;
+    private final Counter broadcastOverflows;
+    private final Counter subscriberOverflows;
+
+    public NoticeChangeBroadcaster(ObjectMapper objectMapper,
+                                   MeterRegistry registry,
+                                   @Value("${notice.stream.timeout:30m}") Duration timeout,
+                                   @Value("${notice.stream.heartbeat:30s}") Duration heartbeat,
+                                   @Value("${notice.stream.max-subscribers:5000}") int maxSubscribers,
+                                   @Value("${notice.stream.queue-size:1000}") int queueSize,
+                                   @Value("${notice.stream.subscriber-buffer:100}") int subscriberBuffer) {
+        if (maxSubscribers < 1) {
+            throw new IllegalArgumentException("notice.stream.max-subscribers must be positive: " + maxSubscribers);
+        }
+        if (queueSize < 1 || subscriberBuffer < 1) {
+            throw new IllegalArgumentException("notice.stream.queue-size and subscriber-buffer must be positive");
+        }
+        if (heartbeat.isNegative() || heartbeat.isZero()) {
+            throw new IllegalArgumentException("notice.stream.heartbeat must be positive: " + heartbeat);
+        }
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        this.maxSubscribers = maxSubscribers;
+        this.subscriberBuffer = subscriberBuffer;
+        this.pending = new ArrayBlockingQueue<>(queueSize);
+        Gauge.builder("notice.stream.subscribers", subscribers, Set::size)
+                .description("Clients subscribed to the notice change stream")
+                .register(registry);
+        this.events = Counter.builder("notice.stream.events")
+                .description("Notice change events broadcast to subscribers")
+                .register(registry);
+        this.broadcastOverflows = Counter.builder("notice.stream.overflows")
+                .description("Notice change stream queue overflows replaced by a reload event")
+                .tag("queue", "broadcast")
+                .register(registry);
+        this.subscriberOverflows = Counter.builder("notice.stream.overflows")
+                .description("Notice change stream queue overflows replaced by a reload event")
+                .tag("queue", "subscriber")
+                .register(registry);
+        this.dispatcher = Thread.ofVirtual().name("notice-stream-dispatcher").start(this::dispatch);
+    }
+
+    /**
+     * 購読を開始
+     * @return 購読者へのSSE接続（タイムアウト後はクライアントが自動で再接続する）
+     * @throws ResponseStatusException 購読者数が上限に達している場合（503）
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many notice stream subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // 応答ヘッダーを確定させ、クライアントに接続完了を通知する
+        subscriber.offer(SseEmitter.event().comment("connected").reconnectTime(RECONNECT_MILLIS).build());
+        return emitter;
+    }
+
+    /**
+     * お知らせ変更のコミット後に配信待ちキューへ追加
+     * コミットしたリクエストのスレッドでは送信しない
+     * 購読者の送信キューに収まらない件数の変更は、個々のイベントではなく再読み込みを促す
+     */
+    @TransactionalEventListener
+    public void onNoticeChanged(NoticeChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (event.type() == NoticeChangedEvent.Type.BULK || event.size() > subscriberBuffer) {
+            enqueue(RELOAD);
+            return;
+        }
+        if (event.type() == NoticeChangedEvent.Type.DELETED || event.type() == NoticeChangedEvent.Type.ARCHIVED) {
+            event.ids().forEach(id -> enqueue(idOnlyMessage(event.type(), id)));
+        } else {
+            event.notices().forEach(notice -> enqueue(toMessage(event.type(), notice)));
+        }
+    }
+
+    /**
+     * 他のノードでのお知らせ変更時に再読み込みを促す
+     * 他のノードからの通知には変更内容が含まれないため、結果行を書き換えられない
+     */
+    @EventListener
+    public void onNoticeInvalidated(NoticeInvalidatedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        enqueue(RELOAD);
+    }
+
+    private void enqueue(Message message) {
+        if (!pending.offer(message)) {
+            pendingOverflowed.set(true);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        dispatcher.interrupt();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    /**
+     * 配信待ちキューからイベントを取り出して全購読者へ振り分け
+     * 一定時間イベントがない場合は、切断済みの接続を検出するためハートビートを送る
+     */
+    private void dispatch() {
+        while (running) {
+            try {
+                Message message = pending.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                if (pendingOverflowed.getAndSet(false)) {
+                    // 溢れたイベントは特定できないため、残りも捨てて再読み込みを促す
+                    pending.clear();
+                    broadcastOverflows.increment();
+                    broadcast(RELOAD);
+                } else if (message != null) {
+                    broadcast(message);
+                } else {
+                    Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+                    subscribers.forEach(subscriber -> subscriber.offer(ping));
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Failed to broadcast notice change", ex);
+            }
+        }
+    }
+
+    /**
+     * イベントを1回だけシリアライズし、全購読者の送信キューへ追加
+     */
+    private void broadcast(Message message) {
+        Set<DataWithMediaType> frame = frame(sequence.incrementAndGet(), message);
+        subscribers.forEach(subscriber -> subscriber.offer(frame));
+        events.increment();
+    }
+
+    private Set<DataWithMediaType> frame(long id, Message message) {
+        try {
+            return SseEmitter.event()
+                    .id(Long.toString(id))
+                    .name(EVENT_NAME)
+                    .data(objectMapper.writeValueAsString(message), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize notice change", ex);
+        }
+    }
+
+    private static Message toMessage(NoticeChangedEvent.Type type, Notice notice) {
+        return new Message(type.name().toLowerCase(), notice.getId(),
+                notice.getTitle(), notice.getCategoryCode(),
+                NoticeCategory.labelMap().get(notice.getCategoryCode()),
+                notice.getPostDate(), notice.getStartDate(), notice.getEndDate());
+    }
+
+    private static Message idOnlyMessage(NoticeChangedEvent.Type type, Long id) {
+        return new Message(type.name().toLowerCase(), id, null, null, null, null, null, null);
+    }
+
+    /**
+     * 購読者
+     * 送信キューに追加されたイベントを仮想スレッドで順に送信する（同時に送信するスレッドは1本のみ）
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(subscriberBuffer);
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * 送信キューに追加（接続直後を除き配信スレッドから呼び出す）
+         * 受信が追いつかず溢れた場合は、未送信のイベントを捨てて再読み込みを促す
+         */
+        void offer(Set<DataWithMediaType> frame) {
+            if (!queue.offer(frame)) {
+                queue.clear();
+                subscriberOverflows.increment();
+                queue.offer(frame(sequence.get(), RELOAD));
+            }
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                do {
+                    Set<DataWithMediaType> frame;
+                    while ((frame = queue.poll()) != null) {
+                        emitter.send(frame);
+                    }
+                    sending.set(false);
+                    // 送信終了の直前に追加されたイベントを取りこぼさない
+                } while (!queue.isEmpty() && sending.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException ex) {
+                // 切断済み・完了済みの接続
+                subscribers.remove(this);
+                queue.clear();
+                emitter.completeWithError(ex);
+            }
+        }
+    }
+}
@@ -1,21 +1,40 @@
 package com.example.todo.controller;
 
+import com.example.todo.config.ReplicaRoutingDataSource;
 import com.example.todo.controller.form.NoticeForm;
 import com.example.todo.controller.form.NoticeSearchForm;
 import com.example.todo.domain.Notice;
 import com.example.todo.domain.NoticeCategory;
+import com.example.todo.domain.NoticeSummary;
+import com.example.todo.service.NoticeDataVersion;
 import com.example.todo.service.NoticeService;
+import com.example.todo.service.query.NoticeKeysetPage;
 import com.example.todo.service.query.NoticeSearchCondition;
+import com.example.todo.service.query.NoticeTotal;
 import jakarta.validation.Valid;
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.data.domain.Page;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.RequestContextUtils;
 
-import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * お知らせ管理機能のコントローラー
@@ -26,9 +45,27 @@ import java.time.LocalDate;
 public class NoticeController {
 
     private final NoticeService service;
+    private final NoticeDataVersion dataVersion;
+    private final NoticeListCache listCache;
+    private final NoticeChangeBroadcaster changeBroadcaster;
+    /** 読み取り専用トランザクションのレプリカへの振り分け（レプリカを使用しない場合null） */
+    private final ReplicaRoutingDataSource replicaRouting;
 
-    public NoticeController(NoticeService service) {
+    /** キーセットページングを使用するか（false:OFFSETページング） */
+    private final boolean keysetPaging;
+
+    public NoticeController(NoticeService service,
+                            NoticeDataVersion dataVersion,
+                            NoticeListCache listCache,
+                            NoticeChangeBroadcaster changeBroadcaster,
+                            ObjectProvider<ReplicaRoutingDataSource> replicaRouting,
+                            @Value("${notice.search.keyset-paging:false}") boolean keysetPaging) {
         this.service = service;
+        this.dataVersion = dataVersion;
+        this.listCache = listCache;
+        this.changeBroadcaster = changeBroadcaster;
+        this.replicaRouting = replicaRouting.getIfAvailable();
+        this.keysetPaging = keysetPaging;
     }
 
     /**
@@ -49,27 +86,115 @@ public class NoticeController {
 
     /**
      * お知らせ一覧画面を表示（検索機能付き）
+     * 一覧はCOUNT(*)を伴わないスライスで取得し、総件数は設定された方式で別途解決する
+     * お知らせデータに変更がなければ304を返し、検索結果と描画済みの結果行はキャッシュから返す
+     * 直近の変更を適用していないレプリカから読み取る可能性がある間は、古い結果を新しいバージョンとして
+     * キャッシュ・304応答しないよう、キャッシュと条件付きGETを使用しない
      */
     @GetMapping
-    public String list(@ModelAttribute("searchForm") NoticeSearchForm form, Model model, HttpServletRequest request) {
+    public String list(@ModelAttribute("searchForm") NoticeSearchForm form, Model model,
+                       HttpServletRequest request, HttpServletResponse response, WebRequest webRequest) {
         form.normalizePaging();
         if (shouldStripQuery(request, form)) {
             return ControllerConstants.REDIRECT_NOTICE_LIST;
         }
+        boolean cacheable = replicaRouting == null || !replicaRouting.mayReadBefore(dataVersion.lastModified());
+        if (checkNotModified(request, response, webRequest, cacheable)) {
+            return null;
+        }
         NoticeSearchCondition condition = form.toCondition();
         boolean runSearch = form.shouldSearch();
 
-        Page<Notice> result = runSearch
-                ? service.search(condition, form.toPageable())
-                : Page.empty(form.toPageable());
+        NoticeListCache.Entry result;
+        if (!runSearch) {
+            result = new NoticeListCache.Entry(new SliceImpl<>(List.of(), form.toPageable(), false), null,
+                    NoticeTotal.exact(0), "");
+        } else if (cacheable) {
+            result = listCache.get(cacheKey(form, condition), () -> search(form, condition, request.getLocale()));
+        } else {
+            result = search(form, condition, request.getLocale());
+        }
 
-        form.refreshFrom(result);
+        form.refreshFrom(result.page());
         form.setSearched(runSearch);
-        model.addAttribute("page", result);
+        model.addAttribute("page", result.page());
+        model.addAttribute("keyset", result.keyset());
+        model.addAttribute("total", result.total());
+        model.addAttribute("resultRows", result.rowsHtml());
         model.addAttribute("showResults", runSearch);
         return ControllerConstants.VIEW_NOTICE_MAIN;
     }
 
+    /**
+     * 検索を実行し、総件数の解決と結果行の描画まで行う
+     */
+    private NoticeListCache.Entry search(NoticeSearchForm form, NoticeSearchCondition condition, Locale locale) {
+        Slice<NoticeSummary> result;
+        NoticeKeysetPage keyset = null;
+        if (keysetPaging && !condition.hasKeyword()) {
+            keyset = service.searchKeyset(condition, form.toCursor(), form.getSize());
+            result = toSlice(form, keyset);
+        } else {
+            result = service.searchSlice(condition, form.toPageable());
+        }
+        NoticeTotal total = service.total(condition,
+                result.getPageable().getOffset() + result.getNumberOfElements(), result.hasNext());
+        Set<Long> archivedIds = condition.includeArchived()
+                ? service.findArchivedIds(result.getContent().stream().map(NoticeSummary::id).toList())
+                : Set.of();
+        return new NoticeListCache.Entry(result, keyset, total,
+                listCache.renderRows(result.getContent(), archivedIds, locale));
+    }
+
+    /**
+     * キーセット方式の検索結果をスライスに変換
+     * 一覧テンプレートを共通化するため、結果はフォームのページ番号を持つスライスとして返す
+     * （ページ番号は画面表示と件数算出のための目安で、取得範囲はカーソルで決まる）
+     */
+    private Slice<NoticeSummary> toSlice(NoticeSearchForm form, NoticeKeysetPage keyset) {
+        int page = keyset.hasPrevious() ? form.getPage() : ControllerConstants.DEFAULT_PAGE_NUMBER;
+        return new SliceImpl<>(keyset.content(), PageRequest.of(page, form.getSize(), form.toPageable().getSort()),
+                keyset.hasNext());
+    }
+
+    /**
+     * 検索結果キャッシュのキーを生成
+     */
+    private NoticeListCache.Key cacheKey(NoticeSearchForm form, NoticeSearchCondition condition) {
+        return new NoticeListCache.Key(condition.normalized(), form.getPage(), form.getSize(),
+                form.getAfter(), form.getBefore(), dataVersion.current());
+    }
+
+    /**
+     * お知らせデータのバージョンによる条件付きGETを判定
+     * 完了メッセージなどのフラッシュ属性を伴う表示は常に描画する
+     * @param cacheable falseの場合はETagを付与せず常に描画する
+     * @return 304応答とする場合true
+     */
+    private boolean checkNotModified(HttpServletRequest request, HttpServletResponse response, WebRequest webRequest,
+                                     boolean cacheable) {
+        Map<String, ?> flash = RequestContextUtils.getInputFlashMap(request);
+        if (flash != null && !flash.isEmpty()) {
+            return false;
+        }
+        // ブラウザに毎回再検証させる
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (!cacheable) {
+            return false;
+        }
+        return webRequest.checkNotModified(dataVersion.etag(), dataVersion.lastModified().toEpochMilli());
+    }
+
+    /**
+     * お知らせ変更のイベントストリーム（Server-Sent Events）
+     * 一覧画面が購読し、表示中の結果行を再検索せずに更新する
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter stream() {
+        return changeBroadcaster.subscribe();
+    }
+
     /**
      * 新規登録フォームを表示
      */
@@ -81,11 +206,18 @@ public class NoticeController {
 
     /**
      * 更新フォームを表示
+     * アーカイブ済み・削除済みのお知らせは更新できないため、一覧にエラーを表示する
      * @param id 更新対象のお知らせID
      */
     @GetMapping("/edit")
-    public String editForm(@RequestParam Long id, Model model) {
-        Notice notice = service.findById(id);
+    public String editForm(@RequestParam Long id, Model model, RedirectAttributes ra) {
+        Notice notice;
+        try {
+            notice = service.findById(id);
+        } catch (IllegalArgumentException ex) {
+            ra.addFlashAttribute(ControllerConstants.ATTR_ERROR_MESSAGE, unavailableMessage(id));
+            return ControllerConstants.REDIRECT_NOTICE_LIST;
+        }
         model.addAttribute(ControllerConstants.ATTR_NOTICE_FORM, NoticeForm.from(notice));
         populateFormModel(model, ControllerConstants.MODE_EDIT);
         return ControllerConstants.VIEW_NOTICE_FORM;
@@ -116,15 +248,47 @@ public class NoticeController {
     }
 
     /**
-     * お知らせを削除
+     * 選択したお知らせを削除
+     * アーカイブ済みのお知らせは削除せず、削除できなかった件数をエラーとして表示する
+     * @param selectedIds 削除対象のお知らせID（一覧で選択した行）
      */
     @PostMapping("/delete")
-    public String delete(@RequestParam Long selectedId,
+    public String delete(@RequestParam List<Long> selectedIds,
                          @ModelAttribute("searchForm") NoticeSearchForm form,
                          RedirectAttributes ra) {
-        service.deleteById(selectedId);
-        addCompletedMessage(ra);
+        long deleted = service.deleteByIds(selectedIds);
+        // 全件削除できた場合はアーカイブ済みのIDを問い合わせない
+        Set<Long> archived = deleted < selectedIds.stream().distinct().count()
+                ? service.findArchivedIds(selectedIds)
+                : Set.of();
+        if (archived.isEmpty()) {
+            addCompletedMessage(ra);
+        } else {
+            ra.addFlashAttribute(ControllerConstants.ATTR_ERROR_MESSAGE,
+                    String.format(ControllerConstants.MSG_ARCHIVED_NOT_DELETED, archived.size()));
+        }
+        ra.addFlashAttribute(ControllerConstants.ATTR_RESULT_TYPE, ControllerConstants.RESULT_TYPE_DELETED);
+        form.copyQueryParamsTo(ra);
+        return ControllerConstants.REDIRECT_NOTICE_LIST;
+    }
+
+    /**
+     * 検索条件に一致するお知らせをすべて削除
+     * 検索条件が指定されていない場合は削除しない
+     */
+    @PostMapping("/delete-matching")
+    public String deleteMatching(@ModelAttribute("searchForm") NoticeSearchForm form, RedirectAttributes ra) {
+        if (!form.hasCriteria()) {
+            return ControllerConstants.REDIRECT_NOTICE_LIST;
+        }
+        long deleted = service.deleteMatching(form.toCondition());
+        ra.addFlashAttribute(ControllerConstants.ATTR_COMPLETED_MESSAGE,
+                String.format(ControllerConstants.MSG_DELETED_COUNT, deleted));
         ra.addFlashAttribute(ControllerConstants.ATTR_RESULT_TYPE, ControllerConstants.RESULT_TYPE_DELETED);
+        // 削除後は検索結果の先頭ページを表示する
+        form.setPage(ControllerConstants.DEFAULT_PAGE_NUMBER);
+        form.setAfter(null);
+        form.setBefore(null);
         form.copyQueryParamsTo(ra);
         return ControllerConstants.REDIRECT_NOTICE_LIST;
     }
@@ -132,6 +296,7 @@ public class NoticeController {
     /**
      * フォーム送信処理を統一的に処理
      * バリデーション → ビジネス処理 → リダイレクトの共通フロー
+     * 更新の競合を検出した場合はエラーとしてフォームを再表示する
      */
     private String handleFormSubmission(NoticeForm form,
                                         BindingResult bindingResult,
@@ -144,7 +309,20 @@ public class NoticeController {
             populateFormModel(model, mode);
             return ControllerConstants.VIEW_NOTICE_FORM;
         }
-        action.run();
+        try {
+            action.run();
+        } catch (OptimisticLockingFailureException ex) {
+            // 編集中に他のユーザーが更新した場合は入力内容を保持したままフォームに戻す
+            bindingResult.reject("EXXX5", ControllerConstants.MSG_UPDATE_CONFLICT);
+            model.addAttribute(ControllerConstants.ATTR_CONFLICT, true);
+            populateFormModel(model, mode);
+            return ControllerConstants.VIEW_NOTICE_FORM;
+        } catch (IllegalArgumentException ex) {
+            // 編集中にアーカイブ・削除された場合
+            bindingResult.reject("EXXX6", unavailableMessage(form.getId()));
+            populateFormModel(model, mode);
+            return ControllerConstants.VIEW_NOTICE_FORM;
+        }
         addCompletedMessage(ra);
         ra.addFlashAttribute(ControllerConstants.ATTR_RESULT_TYPE, mode + "d");
         return ControllerConstants.REDIRECT_NOTICE_LIST;
@@ -161,15 +339,22 @@ public class NoticeController {
      * 適用期間の日付範囲をバリデーション（開始日 ≦ 終了日）
      */
     private void validateDateRange(NoticeForm form, BindingResult bindingResult) {
-        LocalDate start = form.startDateValue();
-        LocalDate end = form.endDateValue();
-        if (start != null && end != null && start.isAfter(end)) {
+        if (!form.isDateRangeValid()) {
             bindingResult.reject("EXXX3",
                     new Object[]{"適用期間", "開始日 ≦ 終了日"},
                     "適用期間は開始日が終了日より前になるよう入力してください。");
         }
     }
 
+    /**
+     * 更新対象のお知らせが存在しない場合のメッセージ（アーカイブ済みか削除済みかを判定する）
+     */
+    private String unavailableMessage(Long id) {
+        return id != null && !service.findArchivedIds(List.of(id)).isEmpty()
+                ? ControllerConstants.MSG_ARCHIVED_NOT_EDITABLE
+                : ControllerConstants.MSG_NOTICE_NOT_FOUND;
+    }
+
     /**
      * 処理完了メッセージをリダイレクト先に渡す
      */
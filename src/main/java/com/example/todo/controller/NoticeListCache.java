@@ -0,0 +1,137 @@
+package com.example.todo.controller;
+
+import com.example.todo.domain.NoticeCategory;
+import com.example.todo.domain.NoticeSummary;
+import com.example.todo.service.event.NoticeChangedEvent;
+import com.example.todo.service.event.NoticeInvalidatedEvent;
+import com.example.todo.service.query.NoticeKeysetPage;
+import com.example.todo.service.query.NoticeSearchCondition;
+import com.example.todo.service.query.NoticeTotal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * お知らせ一覧の検索結果キャッシュ
+ * 検索結果と描画済みの結果行HTMLを、正規化した検索条件・ページング・データバージョンをキーに保持する
+ * キャッシュヒット時は検索クエリとThymeleafによる結果行の描画を省略できる
+ */
+@Component
+public class NoticeListCache {
+
+    /** 結果行のテンプレート */
+    private static final String ROWS_TEMPLATE = "fragments/notice-rows";
+
+    /**
+     * キャッシュキー
+     * @param condition 正規化した検索条件
+     * @param page ページ番号
+     * @param size ページサイズ
+     * @param after キーセットページング：次ページ取得用カーソル
+     * @param before キーセットページング：前ページ取得用カーソル
+     * @param version お知らせデータのバージョン
+     */
+    public record Key(NoticeSearchCondition condition, int page, int size, String after, String before, long version) {
+    }
+
+    /**
+     * キャッシュ値
+     * @param page 検索結果スライス
+     * @param keyset キーセットページングの検索結果（OFFSETページングの場合null）
+     * @param total 総件数
+     * @param rowsHtml 描画済みの結果行HTML
+     */
+    public record Entry(Slice<NoticeSummary> page, NoticeKeysetPage keyset, NoticeTotal total, String rowsHtml) {
+    }
+
+    private final ITemplateEngine templateEngine;
+    private final Map<Key, Entry> entries;
+    /** entriesの排他制御（仮想スレッドでの競合時にキャリアスレッドを占有しないようsynchronizedは使わない） */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public NoticeListCache(ITemplateEngine templateEngine,
+                           @Value("${notice.list.cache.max-entries:200}") int maxEntries) {
+        this.templateEngine = templateEngine;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * キャッシュから取得し、未登録の場合は検索して登録
+     * 検索はロック外で実行するため、同一キーの同時アクセスでは重複して検索されることがある
+     */
+    public Entry get(Key key, Supplier<Entry> loader) {
+        lock.lock();
+        try {
+            Entry cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        } finally {
+            lock.unlock();
+        }
+        Entry loaded = loader.get();
+        lock.lock();
+        try {
+            entries.put(key, loaded);
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+
+    /**
+     * 結果行をHTMLに描画
+     * アーカイブ済みの行は更新・削除できないため選択できないようにする
+     * @param archivedIds 結果行のうちアーカイブ済みのID
+     */
+    public String renderRows(List<NoticeSummary> rows, Set<Long> archivedIds, Locale locale) {
+        Context context = new Context(locale);
+        context.setVariable("rows", rows);
+        context.setVariable("archivedIds", archivedIds);
+        context.setVariable("categoryLabels", NoticeCategory.labelMap());
+        return templateEngine.process(ROWS_TEMPLATE, context);
+    }
+
+    /**
+     * お知らせ変更のコミット後に全件破棄
+     * キーにバージョンを含むため古い結果が返ることはないが、不要になったエントリを早期に解放する
+     */
+    @TransactionalEventListener
+    public void onNoticeChanged(NoticeChangedEvent event) {
+        clear();
+    }
+
+    /**
+     * 他のノードでのお知らせ変更時に全件破棄
+     */
+    @EventListener
+    public void onNoticeInvalidated(NoticeInvalidatedEvent event) {
+        clear();
+    }
+
+    private void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.todo.controller.api;
+
+import com.example.todo.controller.form.NoticeSearchForm;
+import com.example.todo.domain.NoticeSummary;
+import com.example.todo.service.NoticeChangeFeed;
+import com.example.todo.service.NoticeImportService;
+import com.example.todo.service.NoticeService;
+import com.example.todo.service.bulk.NoticeImportResult;
+import com.example.todo.service.query.NoticeKeysetPage;
+import com.example.todo.service.query.NoticeSearchCondition;
+import com.example.todo.service.query.NoticeTotal;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Validator;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * お知らせのREST APIコントローラー
+ * 外部システム向けに検索・参照・一括エクスポート・一括登録・変更フィードをJSONで提供する
+ * 検索条件とページングのパラメータは一覧画面（NoticeController）と共通
+ */
+@RestController
+@RequestMapping("/api/notices")
+public class NoticeApiController {
+
+    /** エクスポート・一括登録の入出力バッファサイズ */
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
+    private final NoticeService service;
+    private final NoticeImportService importService;
+    private final NoticeChangeFeed changeFeed;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    /** NDJSON出力用（1件ごとに出力先をフラッシュ・クローズしない） */
+    private final ObjectWriter rowWriter;
+
+    public NoticeApiController(NoticeService service, NoticeImportService importService,
+                               NoticeChangeFeed changeFeed, ObjectMapper objectMapper, Validator validator) {
+        this.service = service;
+        this.importService = importService;
+        this.changeFeed = changeFeed;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.rowWriter = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * お知らせを検索
+     * キーワード検索以外はキーセット方式で取得し、続きはnextCursorをafterに指定して取得する
+     */
+    @GetMapping
+    public NoticeListResponse search(@ModelAttribute NoticeSearchForm form) {
+        form.normalizePaging();
+        NoticeSearchCondition condition = form.toCondition();
+        if (!condition.hasKeyword()) {
+            NoticeKeysetPage keyset = service.searchKeyset(condition, form.toCursor(), form.getSize());
+            int page = keyset.hasPrevious() ? form.getPage() : 0;
+            NoticeTotal total = service.total(condition,
+                    (long) page * form.getSize() + keyset.content().size(), keyset.hasNext());
+            return new NoticeListResponse(keyset.content(), page, form.getSize(), keyset.hasNext(),
+                    keyset.previousCursor(), keyset.nextCursor(), total);
+        }
+        Slice<NoticeSummary> result = service.searchSlice(condition, form.toPageable());
+        NoticeTotal total = service.total(condition,
+                result.getPageable().getOffset() + result.getNumberOfElements(), result.hasNext());
+        return new NoticeListResponse(result.getContent(), result.getNumber(), result.getSize(), result.hasNext(),
+                null, null, total);
+    }
+
+    /**
+     * お知らせを1件取得（内容を含む）
+     */
+    @GetMapping("/{id}")
+    public NoticeResponse get(@PathVariable Long id) {
+        try {
+            return NoticeResponse.of(service.findById(id));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * 検索条件に一致するお知らせを全件エクスポート
+     * サーバー側カーソルから読み込んだ行をそのまま応答に書き出すため、件数によらずメモリ使用量は一定となる
+     * @param format 出力形式（ndjson / csv）
+     */
+    @GetMapping("/export")
+    public void export(@ModelAttribute NoticeSearchForm form,
+                       @RequestParam(defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        NoticeExportFormat exportFormat = NoticeExportFormat.of(format);
+        response.setContentType(exportFormat.mediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"notices." + exportFormat.extension() + "\"");
+
+        Writer out = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+        exportFormat.writeHeader(out);
+        service.forEachMatching(form.toCondition(), notice -> {
+            try {
+                exportFormat.writeRow(out, rowWriter, NoticeResponse.of(notice));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        out.flush();
+    }
+
+    /**
+     * お知らせを一括登録
+     * 入力はエクスポートと同じ形式で、各行を登録フォームと同じ規則で検証し、エラーの行は登録せず結果として返す
+     * @param file 入力ファイル（UTF-8）
+     * @param format 入力形式（ndjson / csv、未指定の場合はファイルの拡張子から判定）
+     */
+    @PostMapping(path = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public NoticeImportResult importNotices(@RequestParam MultipartFile file,
+                                            @RequestParam(required = false) String format) throws IOException {
+        NoticeExportFormat importFormat = NoticeExportFormat.of(
+                format != null ? format : StringUtils.getFilenameExtension(file.getOriginalFilename()));
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE)) {
+            return importService.importNotices(new NoticeImportReader(importFormat, in, objectMapper, validator));
+        }
+    }
+
+    /**
+     * 指定したオフセットより後の変更を取得
+     * 続きはnextOffsetをafterに指定して取得する。変更がない場合はwaitまで待機して応答する
+     * @param after 前回取得したオフセット（先頭から取得する場合0）
+     * @param limit 最大件数（1〜1000）
+     * @param wait 変更がない場合の待ち時間（notice.feed.max-waitまで）
+     */
+    @GetMapping("/changes")
+    public NoticeChangeFeedResponse changes(@RequestParam(defaultValue = "0") long after,
+                                            @RequestParam(defaultValue = "100") int limit,
+                                            @RequestParam(defaultValue = "0s") Duration wait) {
+        return NoticeChangeFeedResponse.of(changeFeed.read(after, limit, wait));
+    }
+
+    /**
+     * 変更フィードの続きが保持期間を過ぎて削除済み（全件を取得し直す必要がある）
+     */
+    @ExceptionHandler(NoticeChangeFeed.OffsetExpiredException.class)
+    public ProblemDetail handleOffsetExpired(NoticeChangeFeed.OffsetExpiredException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.GONE, ex.getMessage());
+    }
+
+    /**
+     * 未対応の入出力形式などの不正なリクエスト
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgument(IllegalArgumentException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+}
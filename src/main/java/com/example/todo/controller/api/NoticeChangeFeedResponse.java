@@ -0,0 +1,40 @@
+package com.example.todo.controller.api;
+
+import com.example.todo.service.feed.NoticeChange;
+import com.example.todo.service.feed.NoticeChangePage;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * お知らせAPIの変更フィード
+ * @param changes 変更（オフセット順）
+ * @param nextOffset 次回afterに指定するオフセット（変更がない場合は指定したafterと同じ）
+ */
+public record NoticeChangeFeedResponse(
+        List<Change> changes,
+        long nextOffset
+) {
+    /**
+     * 変更1件
+     * @param offset オフセット（増加するが連続するとは限らない）
+     * @param type 種別（CREATED, UPDATED, DELETED, ARCHIVED, BULK）
+     * @param id お知らせID（BULKの場合null）
+     * @param notice 変更後のお知らせ（内容は含まない、DELETED・ARCHIVED・BULKの場合null）
+     * @param occurredAt 変更日時
+     */
+    public record Change(long offset, String type, Long id, @JsonRawValue String notice, LocalDateTime occurredAt) {
+    }
+
+    public static NoticeChangeFeedResponse of(NoticeChangePage page) {
+        List<Change> changes = page.changes().stream()
+                .map(NoticeChangeFeedResponse::toChange)
+                .toList();
+        return new NoticeChangeFeedResponse(changes, page.nextOffset());
+    }
+
+    private static Change toChange(NoticeChange change) {
+        return new Change(change.offset(), change.type(), change.noticeId(), change.payload(), change.occurredAt());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.todo.controller.api;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.temporal.Temporal;
+
+/**
+ * お知らせエクスポートの出力形式（一括登録の入力形式と共通）
+ */
+public enum NoticeExportFormat {
+    /** 1行1件のJSON（改行区切り） */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /** ヘッダー行付きのCSV（RFC 4180） */
+    CSV("text/csv", "csv");
+
+    /** CSVのヘッダー行 */
+    private static final String CSV_HEADER =
+            "id,title,category_cd,post_date,start_date,end_date,content,created_at,updated_at\r\n";
+
+    private final String mediaType;
+    private final String extension;
+
+    NoticeExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() { return mediaType; }
+    public String extension() { return extension; }
+
+    /**
+     * 形式名（拡張子）から出力形式を取得
+     * @throws IllegalArgumentException 未対応の形式の場合
+     */
+    public static NoticeExportFormat of(String name) {
+        for (NoticeExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported format: " + name);
+    }
+
+    /**
+     * 先頭行を出力（CSVのみ）
+     */
+    void writeHeader(Writer out) throws IOException {
+        if (this == CSV) {
+            out.write(CSV_HEADER);
+        }
+    }
+
+    /**
+     * 1件を出力
+     * @param json NDJSON用のライター（出力先をクローズ・フラッシュしない設定であること。CSVでは未使用）
+     */
+    void writeRow(Writer out, ObjectWriter json, NoticeResponse row) throws IOException {
+        if (this == NDJSON) {
+            json.writeValue(out, row);
+            out.write('\n');
+            return;
+        }
+        out.write(String.valueOf(row.id()));
+        writeCsvField(out, row.title());
+        writeCsvField(out, row.categoryCode());
+        writeCsvField(out, row.postDate());
+        writeCsvField(out, row.startDate());
+        writeCsvField(out, row.endDate());
+        writeCsvField(out, row.content());
+        writeCsvField(out, row.createdAt());
+        writeCsvField(out, row.updatedAt());
+        out.write("\r\n");
+    }
+
+    /**
+     * CSVの項目を区切り文字付きで出力（区切り文字・引用符・改行を含む場合は引用符で囲む）
+     */
+    private static void writeCsvField(Writer out, Object value) throws IOException {
+        out.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof Temporal ? value.toString() : (String) value;
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        out.write(text.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.todo.controller.api;
+
+import com.example.todo.controller.form.NoticeForm;
+import com.example.todo.service.bulk.NoticeImportLine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * お知らせ一括登録の入力を1件ずつ読み込み、登録フォームと同じ規則で検証する
+ * 入力はエクスポート（NoticeExportFormat）と同じ形式で、idや作成日時などの項目は無視する
+ */
+class NoticeImportReader implements Iterator<NoticeImportLine> {
+
+    /** 検証メッセージの並び順（フォームの項目順） */
+    private static final List<String> FIELD_ORDER =
+            List.of("title", "category", "postDate", "startDate", "endDate", "content");
+
+    /** CSVの必須列 */
+    private static final List<String> CSV_COLUMNS =
+            List.of("title", "category_cd", "post_date", "start_date", "end_date", "content");
+
+    private static final String MSG_INVALID_JSON = "JSONの形式が正しくありません。";
+    private static final String MSG_COLUMN_COUNT = "列数がヘッダー行と一致しません。";
+    private static final String MSG_DATE_RANGE = "適用期間は開始日が終了日より前になるよう入力してください。";
+
+    private final NoticeExportFormat format;
+    private final BufferedReader in;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    /** CSVの列名と列位置 */
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    /** 次に読み込む行の行番号 */
+    private long lineNumber = 1;
+    private NoticeImportLine next;
+
+    NoticeImportReader(NoticeExportFormat format, BufferedReader in, ObjectMapper objectMapper, Validator validator) {
+        this.format = format;
+        this.in = in;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        if (format == NoticeExportFormat.CSV) {
+            readHeader();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public NoticeImportLine next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        NoticeImportLine line = next;
+        next = null;
+        return line;
+    }
+
+    /**
+     * 次の1件を読み込む（入力の終端ではnull）
+     */
+    private NoticeImportLine readNext() {
+        try {
+            return format == NoticeExportFormat.CSV ? readCsvLine() : readJsonLine();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // ===================================
+    // NDJSON
+    // ===================================
+    private NoticeImportLine readJsonLine() throws IOException {
+        String text;
+        long start;
+        do {
+            start = lineNumber++;
+            text = in.readLine();
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException ex) {
+            return NoticeImportLine.invalid(start, List.of(MSG_INVALID_JSON));
+        }
+        if (!node.isObject()) {
+            return NoticeImportLine.invalid(start, List.of(MSG_INVALID_JSON));
+        }
+        NoticeForm form = new NoticeForm();
+        form.setTitle(text(node, "title"));
+        form.setCategory(text(node, "categoryCode"));
+        form.setPostDate(text(node, "postDate"));
+        form.setStartDate(text(node, "startDate"));
+        form.setEndDate(text(node, "endDate"));
+        form.setContent(text(node, "content"));
+        return validate(start, form);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    // ===================================
+    // CSV
+    // ===================================
+    /**
+     * ヘッダー行から列位置を取得
+     * @throws IllegalArgumentException 必須列がない場合
+     */
+    private void readHeader() {
+        List<String> header;
+        try {
+            header = readCsvRecord();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (header == null) {
+            throw new IllegalArgumentException("CSV header is required");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).strip();
+            // Excelで保存したCSVのBOMを除去
+            columns.put(i == 0 && name.startsWith("\uFEFF") ? name.substring(1) : name, i);
+        }
+        List<String> missing = CSV_COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing columns: " + missing);
+        }
+    }
+
+    private NoticeImportLine readCsvLine() throws IOException {
+        long start;
+        List<String> record;
+        do {
+            start = lineNumber;
+            record = readCsvRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isBlank());
+        if (record.size() != columns.size()) {
+            return NoticeImportLine.invalid(start, List.of(MSG_COLUMN_COUNT));
+        }
+        NoticeForm form = new NoticeForm();
+        form.setTitle(column(record, "title"));
+        form.setCategory(column(record, "category_cd"));
+        form.setPostDate(column(record, "post_date"));
+        form.setStartDate(column(record, "start_date"));
+        form.setEndDate(column(record, "end_date"));
+        form.setContent(column(record, "content"));
+        return validate(start, form);
+    }
+
+    private String column(List<String> record, String name) {
+        return record.get(columns.get(name));
+    }
+
+    /**
+     * CSVの1レコードを読み込む（RFC 4180、引用符内の改行を含む。入力の終端ではnull）
+     */
+    private List<String> readCsvRecord() throws IOException {
+        int c = in.read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    break;
+                }
+                if (c == '"') {
+                    in.mark(1);
+                    int following = in.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        in.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c < 0 || c == '\n') {
+                lineNumber++;
+                break;
+            } else if (c == '\r') {
+                // CRLFのCRは読み飛ばす
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // ===================================
+    // 検証
+    // ===================================
+    /**
+     * 登録フォームと同じ規則で検証（必須→形式→その他の順、日付範囲は開始日 ≦ 終了日）
+     */
+    private NoticeImportLine validate(long line, NoticeForm form) {
+        List<String> errors = validator.validate(form).stream()
+                .sorted(Comparator.comparingInt(v -> FIELD_ORDER.indexOf(v.getPropertyPath().toString())))
+                .map(ConstraintViolation::getMessage)
+                .toList();
+        if (!errors.isEmpty()) {
+            return NoticeImportLine.invalid(line, errors);
+        }
+        // 形式は正しいが存在しない日付（2月30日など）
+        List<String> dateErrors = new ArrayList<>();
+        addDateError(dateErrors, form.getPostDate(), form.postDateValue(), "掲載日");
+        addDateError(dateErrors, form.getStartDate(), form.startDateValue(), "適用開始日");
+        addDateError(dateErrors, form.getEndDate(), form.endDateValue(), "適用終了日");
+        if (!dateErrors.isEmpty()) {
+            return NoticeImportLine.invalid(line, dateErrors);
+        }
+        if (!form.isDateRangeValid()) {
+            return NoticeImportLine.invalid(line, List.of(MSG_DATE_RANGE));
+        }
+        return NoticeImportLine.valid(line, form.toNotice());
+    }
+
+    private static void addDateError(List<String> errors, String text, Object value, String label) {
+        if (text != null && !text.isBlank() && value == null) {
+            errors.add(label + "には正しい日付を入力してください。");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.todo.controller.api;
+
+import com.example.todo.domain.NoticeSummary;
+import com.example.todo.service.query.NoticeTotal;
+
+import java.util.List;
+
+/**
+ * お知らせAPIの検索結果
+ * @param content 一覧表示項目（内容は含まない）
+ * @param page ページ番号（0始まり、キーセット方式では目安）
+ * @param size ページサイズ
+ * @param hasNext 次ページがあるか
+ * @param previousCursor 前ページ取得用トークン（キーセット方式で前ページがある場合のみ）
+ * @param nextCursor 次ページ取得用トークン（キーセット方式で次ページがある場合のみ）
+ * @param total 総件数
+ */
+public record NoticeListResponse(
+        List<NoticeSummary> content,
+        int page,
+        int size,
+        boolean hasNext,
+        String previousCursor,
+        String nextCursor,
+        NoticeTotal total
+) {
+}
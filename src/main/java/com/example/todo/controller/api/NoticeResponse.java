@@ -0,0 +1,38 @@
+package com.example.todo.controller.api;
+
+import com.example.todo.domain.Notice;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * お知らせAPIの応答（1件分、内容を含む）
+ * エンティティを直接シリアライズせず、公開する項目をここで固定する
+ */
+public record NoticeResponse(
+        Long id,
+        String title,
+        String categoryCode,
+        LocalDate postDate,
+        LocalDate startDate,
+        LocalDate endDate,
+        String content,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+    /**
+     * Noticeエンティティから応答を生成
+     */
+    public static NoticeResponse of(Notice notice) {
+        return new NoticeResponse(
+                notice.getId(),
+                notice.getTitle(),
+                notice.getCategoryCode(),
+                notice.getPostDate(),
+                notice.getStartDate(),
+                notice.getEndDate(),
+                notice.getContent(),
+                notice.getCreatedAt(),
+                notice.getUpdatedAt());
+    }
+}
@@ -19,6 +19,9 @@ public class NoticeForm {
     /** お知らせID（更新時のみ使用） */
     private Long id;
 
+    /** 編集開始時点のバージョン（更新時のみ使用、他ユーザーの更新との競合検出に使用） */
+    private Long version;
+
     /** タイトル */
     @NotBlank(message = "タイトルを入力してください。", groups = ValidationGroups.Required.class)
     @Size(max = 100, message = "タイトルは100文字以内で入力してください。")
@@ -53,6 +56,7 @@ public class NoticeForm {
     public static NoticeForm from(Notice notice) {
         NoticeForm form = new NoticeForm();
         form.setId(notice.getId());
+        form.setVersion(notice.getVersion());
         form.setTitle(notice.getTitle());
         form.setCategory(notice.getCategoryCode());
         form.setPostDate(dateToString(notice.getPostDate()));
@@ -68,6 +72,7 @@ public class NoticeForm {
     public Notice toNotice() {
         Notice notice = new Notice();
         notice.setId(this.id);
+        notice.setVersion(this.version);
         notice.setTitle(this.title);
         notice.setCategoryCode(this.category);
         notice.setPostDate(postDateValue());
@@ -80,6 +85,8 @@ public class NoticeForm {
     // getters and setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
     public String getCategory() { return category; }
@@ -100,6 +107,15 @@ public class NoticeForm {
     public LocalDate startDateValue() { return parseDate(this.startDate); }
     public LocalDate endDateValue() { return parseDate(this.endDate); }
 
+    /**
+     * 適用期間の日付範囲が正しいかチェック（開始日 ≦ 終了日、未入力・形式不正の場合は対象外）
+     */
+    public boolean isDateRangeValid() {
+        LocalDate start = startDateValue();
+        LocalDate end = endDateValue();
+        return start == null || end == null || !start.isAfter(end);
+    }
+
     /**
      * LocalDateを文字列に変換（nullセーフ）
      */
@@ -1,10 +1,11 @@
 package com.example.todo.controller.form;
 
 import com.example.todo.controller.ControllerConstants;
+import com.example.todo.service.query.NoticeCursor;
 import com.example.todo.service.query.NoticeSearchCondition;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
@@ -24,6 +25,9 @@ public class NoticeSearchForm {
     /** 検索条件：タイトル（部分一致） */
     private String title = "";
 
+    /** 検索条件：キーワード（タイトル・内容の全文検索） */
+    private String keyword = "";
+
     /** 検索条件：お知らせ区分コード */
     private String category = "";
 
@@ -36,12 +40,24 @@ public class NoticeSearchForm {
     /** 検索条件：適用期間終了日 */
     private String to = "";
 
+    /** 検索条件：適用日（指定日が適用期間内） */
+    private String effectiveOn = "";
+
+    /** 検索条件：アーカイブ済みのお知らせを含む */
+    private boolean includeArchived;
+
     /** ページ番号（0始まり） */
     private int page = ControllerConstants.DEFAULT_PAGE_NUMBER;
 
     /** ページサイズ */
     private int size = ControllerConstants.DEFAULT_PAGE_SIZE;
 
+    /** キーセットページング：次ページ取得用カーソル */
+    private String after = "";
+
+    /** キーセットページング：前ページ取得用カーソル */
+    private String before = "";
+
     /** 検索実行フラグ */
     private boolean searched;
 
@@ -54,7 +70,10 @@ public class NoticeSearchForm {
                 blankToNull(category),
                 parseDate(postDate),
                 parseDate(from),
-                parseDate(to)
+                parseDate(to),
+                blankToNull(keyword),
+                parseDate(effectiveOn),
+                includeArchived
         );
     }
 
@@ -65,6 +84,14 @@ public class NoticeSearchForm {
         return PageRequest.of(page, size, Sort.Direction.DESC, "postDate", "id");
     }
 
+    /**
+     * キーセットページングのカーソルを生成（前ページ指定を優先、未指定・不正時はnull）
+     */
+    public NoticeCursor toCursor() {
+        NoticeCursor cursor = NoticeCursor.parse(before, true);
+        return cursor != null ? cursor : NoticeCursor.parse(after, false);
+    }
+
     /**
      * ページング値を正常範囲に正規化
      */
@@ -74,9 +101,9 @@ public class NoticeSearchForm {
     }
 
     /**
-     * ページ検索結果からページング値を更新
+     * 検索結果スライスからページング値を更新
      */
-    public void refreshFrom(Page<?> result) {
+    public void refreshFrom(Slice<?> result) {
         page = result.getNumber();
         size = result.getSize();
     }
@@ -92,7 +119,8 @@ public class NoticeSearchForm {
      * 検索条件が入力されているかチェック
      */
     public boolean hasCriteria() {
-        return hasText(title) || hasText(category) || hasText(postDate) || hasText(from) || hasText(to);
+        return hasText(title) || hasText(category) || hasText(postDate) || hasText(from) || hasText(to)
+                || hasText(keyword) || hasText(effectiveOn);
     }
 
     // ===================================
@@ -101,6 +129,9 @@ public class NoticeSearchForm {
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = defaultString(title); }
 
+    public String getKeyword() { return keyword; }
+    public void setKeyword(String keyword) { this.keyword = defaultString(keyword); }
+
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = defaultString(category); }
 
@@ -113,12 +144,24 @@ public class NoticeSearchForm {
     public String getTo() { return to; }
     public void setTo(String to) { this.to = defaultString(to); }
 
+    public String getEffectiveOn() { return effectiveOn; }
+    public void setEffectiveOn(String effectiveOn) { this.effectiveOn = defaultString(effectiveOn); }
+
+    public boolean isIncludeArchived() { return includeArchived; }
+    public void setIncludeArchived(boolean includeArchived) { this.includeArchived = includeArchived; }
+
     public int getPage() { return page; }
     public void setPage(int page) { this.page = page; }
 
     public int getSize() { return size; }
     public void setSize(int size) { this.size = size; }
 
+    public String getAfter() { return after; }
+    public void setAfter(String after) { this.after = defaultString(after); }
+
+    public String getBefore() { return before; }
+    public void setBefore(String before) { this.before = defaultString(before); }
+
     public boolean isSearched() { return searched; }
     public void setSearched(boolean searched) { this.searched = searched; }
 
@@ -130,12 +173,17 @@ public class NoticeSearchForm {
      */
     public void copyQueryParamsTo(RedirectAttributes ra) {
         ra.addAttribute("title", defaultString(title));
+        ra.addAttribute("keyword", defaultString(keyword));
         ra.addAttribute("category", defaultString(category));
         ra.addAttribute("postDate", defaultString(postDate));
         ra.addAttribute("from", defaultString(from));
         ra.addAttribute("to", defaultString(to));
+        ra.addAttribute("effectiveOn", defaultString(effectiveOn));
+        ra.addAttribute("includeArchived", includeArchived);
         ra.addAttribute("page", Math.max(page, ControllerConstants.DEFAULT_PAGE_NUMBER));
         ra.addAttribute("size", Math.clamp(size, ControllerConstants.MIN_PAGE_SIZE, ControllerConstants.MAX_PAGE_SIZE));
+        ra.addAttribute("after", defaultString(after));
+        ra.addAttribute("before", defaultString(before));
         ra.addAttribute("searched", shouldSearch());
     }
 
@@ -1,20 +1,26 @@
 package com.example.todo.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
  * お知らせエンティティ
- * t_noticeテーブルと対応
+ * t_noticeテーブルと対応（スキーマはdb/migration配下のマイグレーションで管理）
+ * 第2レベルキャッシュ（リージョン: notice）の対象（設定はNoticeEntityCacheConfiguration）
  */
 @Entity
 @Table(name = "t_notice")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "notice")
 public class Notice {
-    /** お知らせID（主キー） */
+    /** お知らせID（主キー、バッチ登録できるようシーケンスから50件単位で採番） */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notice_id")
+    @SequenceGenerator(name = "notice_id", sequenceName = "t_notice_seq", allocationSize = 50)
     private Long id;
 
     /** タイトル */
@@ -37,11 +43,23 @@ public class Notice {
     @Column(name = "end_date")
     private LocalDate endDate;
 
-    /** 内容 */
-    @Lob
-    @Column(name = "content")
+    /** 内容（全文検索の対象とするためラージオブジェクトではなくtext型で保持） */
+    @Column(name = "content", columnDefinition = "text")
     private String content;
 
+    /** 全文検索用ベクトル（タイトルと内容からDBが生成する読み取り専用の列） */
+    @Column(name = "search_vector", columnDefinition = "tsvector", insertable = false, updatable = false)
+    private String searchVector;
+
+    /** 内容のMD5ハッシュ（DBが生成する読み取り専用の列、内容が変わらない更新で内容を書き直さないために使用） */
+    @Column(name = "content_hash", insertable = false, updatable = false)
+    private String contentHash;
+
+    /** バージョン（楽観的排他制御用、更新のたびに加算） */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     /** 作成日時 */
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -74,6 +92,9 @@ public class Notice {
     public String getContent() { return content; }
     public void setContent(String content) { this.content = content; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,36 @@
+package com.example.todo.domain;
+
+import java.time.LocalDate;
+
+/**
+ * お知らせ一覧表示用の射影
+ * 一覧に表示する項目のみを保持し、内容（content）や全文検索用ベクトルは読み込まない
+ * @param id お知らせID
+ * @param title タイトル
+ * @param categoryCode お知らせ区分コード
+ * @param postDate 掲載日
+ * @param startDate 適用開始日
+ * @param endDate 適用終了日
+ */
+public record NoticeSummary(
+        Long id,
+        String title,
+        String categoryCode,
+        LocalDate postDate,
+        LocalDate startDate,
+        LocalDate endDate
+) {
+    /**
+     * エンティティから生成
+     */
+    public static NoticeSummary of(Notice notice) {
+        return new NoticeSummary(
+                notice.getId(),
+                notice.getTitle(),
+                notice.getCategoryCode(),
+                notice.getPostDate(),
+                notice.getStartDate(),
+                notice.getEndDate()
+        );
+    }
+}
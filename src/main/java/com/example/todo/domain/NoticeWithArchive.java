@@ -0,0 +1,111 @@
+package com.example.todo.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * アーカイブ済みを含むお知らせ（読み取り専用）
+ * t_noticeとt_notice_archiveを結合したビュー（v_notice_with_archive）と対応
+ * 検索条件の属性名はNoticeと同じため、検索クエリはエンティティ名のみを差し替えて組み立てる
+ */
+@Entity
+@Immutable
+@Table(name = "v_notice_with_archive")
+public class NoticeWithArchive {
+    /** お知らせID */
+    @Id
+    private Long id;
+
+    /** タイトル */
+    @Column(length = 100)
+    private String title;
+
+    /** お知らせ区分コード */
+    @Column(name = "category_cd", length = 4)
+    private String categoryCode;
+
+    /** 掲載日 */
+    @Column(name = "post_date")
+    private LocalDate postDate;
+
+    /** 適用開始日 */
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    /** 適用終了日 */
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    /** 内容 */
+    @Column(name = "content", columnDefinition = "text")
+    private String content;
+
+    /** 全文検索用ベクトル */
+    @Column(name = "search_vector", columnDefinition = "tsvector")
+    private String searchVector;
+
+    /** バージョン */
+    @Column(name = "version")
+    private Long version;
+
+    /** 作成日時 */
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    /** 更新日時 */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /** アーカイブ済みか */
+    @Column(name = "archived")
+    private boolean archived;
+
+    /**
+     * お知らせエンティティに変換（エクスポート用、永続化コンテキストには含まれない）
+     */
+    public Notice toNotice() {
+        Notice notice = new Notice();
+        notice.setId(id);
+        notice.setTitle(title);
+        notice.setCategoryCode(categoryCode);
+        notice.setPostDate(postDate);
+        notice.setStartDate(startDate);
+        notice.setEndDate(endDate);
+        notice.setContent(content);
+        notice.setVersion(version);
+        notice.setCreatedAt(createdAt);
+        notice.setUpdatedAt(updatedAt);
+        return notice;
+    }
+
+    // ===================================
+    // Getters
+    // ===================================
+    public Long getId() { return id; }
+
+    public String getTitle() { return title; }
+
+    public String getCategoryCode() { return categoryCode; }
+
+    public LocalDate getPostDate() { return postDate; }
+
+    public LocalDate getStartDate() { return startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+
+    public String getContent() { return content; }
+
+    public Long getVersion() { return version; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public boolean isArchived() { return archived; }
+}
@@ -1,13 +1,90 @@
 package com.example.todo.repository;
 
 import com.example.todo.domain.Notice;
+import com.example.todo.domain.NoticeSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * お知らせエンティティのリポジトリ
- * 標準CRUD操作とSpecificationによる動的検索をサポート
+ * 標準CRUD操作と、検索条件から組み立てたクエリによる動的検索（NoticeSearchRepository）をサポート
  */
-public interface NoticeRepository extends JpaRepository<Notice, Long>, JpaSpecificationExecutor<Notice> {
+public interface NoticeRepository extends JpaRepository<Notice, Long>, NoticeSearchRepository {
+
+    /**
+     * 更新系のネイティブSQLに指定する、どのエンティティにも対応しないクエリ空間
+     * HQLの一括更新や空間未指定のネイティブSQLでは、Hibernateが第2レベルキャッシュのリージョン全体を破棄するため、
+     * 更新系のSQLにはこの空間を指定してリージョン全体の破棄を避け、変更するIDのエントリのみをロックする（NoticeEntityCacheLock）
+     */
+    String UNCACHED_QUERY_SPACE = "t_notice_uncached_dml";
+
+    /**
+     * 全件の一覧表示項目をサーバー側カーソルでストリーム取得
+     * トランザクション内で呼び出し、使用後はストリームをクローズすること
+     */
+    @Query("select new com.example.todo.domain.NoticeSummary(n.id, n.title, n.categoryCode, n.postDate, n.startDate, n.endDate)"
+            + " from Notice n")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<NoticeSummary> streamAllSummaries();
+
+    /**
+     * 指定IDの一覧表示項目を取得（存在しないIDは結果に含まない）
+     */
+    @Query("select new com.example.todo.domain.NoticeSummary(n.id, n.title, n.categoryCode, n.postDate, n.startDate, n.endDate)"
+            + " from Notice n where n.id in :ids")
+    List<NoticeSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 指定IDのうちアーカイブ済み（t_notice_archiveに移動済み）のIDを取得
+     */
+    @Query(nativeQuery = true, value = "SELECT id FROM t_notice_archive WHERE id IN (:ids)")
+    List<Long> findArchivedIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 指定IDのお知らせを削除
+     * エンティティを読み込まずDELETE文1文で削除する（IDの件数は呼び出し側で制限すること）
+     * 第2レベルキャッシュは削除するIDのエントリを呼び出し側でロックすること（NoticeEntityCacheLock）
+     * @return 削除件数
+     */
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = UNCACHED_QUERY_SPACE))
+    @Query(nativeQuery = true, value = "DELETE FROM t_notice WHERE id IN (:ids)")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 
-}
\ No newline at end of file
+    /**
+     * バージョンが一致する場合のみお知らせを更新し、バージョンを加算
+     * エンティティを読み込まずUPDATE文1文で更新する
+     * 内容のハッシュが格納済みの内容と一致する場合は内容を書き直さない（圧縮済みの内容をそのまま使用する）
+     * 第2レベルキャッシュは更新するIDのエントリを呼び出し側でロックすること（NoticeEntityCacheLock）
+     * @param contentHash 内容のMD5ハッシュ（16進小文字、内容がnullの場合null）
+     * @return 更新件数（IDが存在しない、または他で更新済みの場合0）
+     */
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = UNCACHED_QUERY_SPACE))
+    @Query(nativeQuery = true, value = "UPDATE t_notice SET title = :title, category_cd = :categoryCode,"
+            + " post_date = :postDate, start_date = :startDate, end_date = :endDate,"
+            + " content = CASE WHEN content_hash = :contentHash THEN content ELSE :content END,"
+            + " updated_at = :updatedAt, version = version + 1"
+            + " WHERE id = :id AND version = :version")
+    int updateIfVersionMatches(@Param("id") Long id,
+                               @Param("version") Long version,
+                               @Param("title") String title,
+                               @Param("categoryCode") String categoryCode,
+                               @Param("postDate") LocalDate postDate,
+                               @Param("startDate") LocalDate startDate,
+                               @Param("endDate") LocalDate endDate,
+                               @Param("content") String content,
+                               @Param("contentHash") String contentHash,
+                               @Param("updatedAt") LocalDateTime updatedAt);
+}
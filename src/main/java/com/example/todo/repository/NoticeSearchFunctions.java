@@ -0,0 +1,42 @@
+package com.example.todo.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * お知らせ検索で使用するPostgreSQL固有の関数（全文検索・区間検索）をHibernateに登録
+ * JPQLから fts_match(n.searchVector, :keyword) の形式で呼び出す
+ */
+public class NoticeSearchFunctions implements FunctionContributor {
+
+    /** 全文検索一致判定: fts_match(ベクトル, キーワード) */
+    public static final String FTS_MATCH = "fts_match";
+
+    /** 全文検索の関連度: fts_rank(ベクトル, キーワード) */
+    public static final String FTS_RANK = "fts_rank";
+
+    /** 指定日が適用期間内か: effective_on(適用開始日, 適用終了日, 日付) */
+    public static final String EFFECTIVE_ON = "effective_on";
+
+    // 各関数のSQL（?1, ?2... は引数）。件数推定（NoticeCountEstimator）のSQLも同じ式から組み立てる
+    public static final String FTS_MATCH_SQL = "(?1 @@ websearch_to_tsquery('simple', ?2))";
+    public static final String FTS_RANK_SQL = "ts_rank(?1, websearch_to_tsquery('simple', ?2))";
+    public static final String EFFECTIVE_ON_SQL = "(notice_effective_period(?1, ?2) @> ?3)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions contributions) {
+        SqmFunctionRegistry registry = contributions.getFunctionRegistry();
+        BasicTypeRegistry types = contributions.getTypeConfiguration().getBasicTypeRegistry();
+        // 生成列search_vectorと同じテキスト検索構成（simple）でクエリを解析すること
+        registry.registerPattern(FTS_MATCH, FTS_MATCH_SQL,
+                types.resolve(StandardBasicTypes.BOOLEAN));
+        registry.registerPattern(FTS_RANK, FTS_RANK_SQL,
+                types.resolve(StandardBasicTypes.DOUBLE));
+        // 区間インデックス（idx_notice_effective_period）と同じ式で組み立てること
+        registry.registerPattern(EFFECTIVE_ON, EFFECTIVE_ON_SQL,
+                types.resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.todo.repository;
+
+import java.util.Map;
+
+/**
+ * お知らせ検索のJPQLとパラメータ
+ * JPQLは検索条件の値を含まず、指定された項目の組み合わせなどで決まる形ごとに同じ文字列となる
+ * （HibernateのクエリプランキャッシュとJDBCドライバのプリペアドステートメントキャッシュで再利用される）
+ * @param jpql JPQL（名前付きパラメータのみを使用）
+ * @param parameters パラメータ名と値
+ */
+public record NoticeSearchQuery(String jpql, Map<String, Object> parameters) {
+}
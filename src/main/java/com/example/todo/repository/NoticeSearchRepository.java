@@ -0,0 +1,60 @@
+package com.example.todo.repository;
+
+import com.example.todo.domain.NoticeSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * お知らせ検索用のカスタムリポジトリ
+ * Spring Data標準メソッドでは表現できない検索処理を定義
+ * 検索条件・並び順はNoticeSearchQueryとして組み立て済みのものを受け取り、パラメータを設定して実行する
+ * 一覧用の検索はNoticeSummaryへの射影で取得し、内容（content）を読み込まない
+ */
+public interface NoticeSearchRepository {
+
+    /**
+     * 件数取得クエリを発行せずにページを取得
+     * ページサイズ+1件を取得し、次ページの有無のみを判定する
+     * @param query 一覧表示項目を選択するクエリ（並び順はページング情報と同じものを設定しておくこと）
+     * @param pageable ページング情報
+     * @return 検索結果スライス
+     */
+    Slice<NoticeSummary> findSummarySlice(NoticeSearchQuery query, Pageable pageable);
+
+    /**
+     * 先頭から指定件数を取得
+     * @param query 一覧表示項目を選択するクエリ
+     * @param limit 取得件数
+     * @return 検索結果
+     */
+    List<NoticeSummary> findSummaries(NoticeSearchQuery query, int limit);
+
+    /**
+     * 検索条件に一致する件数を取得
+     * @param query 件数を選択するクエリ
+     * @return 件数
+     */
+    long countMatching(NoticeSearchQuery query);
+
+    /**
+     * 検索条件に一致するお知らせのIDを指定件数まで取得
+     * @param query IDを選択するクエリ
+     * @param limit 取得件数
+     * @return お知らせID
+     */
+    List<Long> findIds(NoticeSearchQuery query, int limit);
+
+    /**
+     * 検索条件に一致する行をサーバー側カーソルでストリーム取得
+     * 取得した行は永続化コンテキストから切り離し、第2レベルキャッシュにも格納しないため、件数によらずメモリ使用量は一定となる
+     * トランザクション内で呼び出し、使用後はストリームをクローズすること
+     * @param query エンティティを選択するクエリ
+     * @param entityClass 検索対象のエンティティ（Notice, NoticeWithArchive）
+     * @param fetchSize JDBCのフェッチサイズ
+     * @return 検索結果のストリーム
+     */
+    <T> Stream<T> streamMatching(NoticeSearchQuery query, Class<T> entityClass, int fetchSize);
+}
@@ -0,0 +1,78 @@
+package com.example.todo.repository;
+
+import com.example.todo.domain.NoticeSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * NoticeSearchRepositoryの実装
+ * 組み立て済みのJPQLを実行する（同じJPQLはHibernateのクエリプランキャッシュから解析結果を再利用する）
+ */
+class NoticeSearchRepositoryImpl implements NoticeSearchRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Slice<NoticeSummary> findSummarySlice(NoticeSearchQuery query, Pageable pageable) {
+        int size = pageable.getPageSize();
+        List<NoticeSummary> rows = createQuery(query, NoticeSummary.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public List<NoticeSummary> findSummaries(NoticeSearchQuery query, int limit) {
+        return createQuery(query, NoticeSummary.class)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long countMatching(NoticeSearchQuery query) {
+        return createQuery(query, Long.class).getSingleResult();
+    }
+
+    @Override
+    public List<Long> findIds(NoticeSearchQuery query, int limit) {
+        return createQuery(query, Long.class)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public <T> Stream<T> streamMatching(NoticeSearchQuery query, Class<T> entityClass, int fetchSize) {
+        return createQuery(query, entityClass)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                // エクスポートなどの全件読み込みで第2レベルキャッシュを読み書きしない（編集画面用のエントリを追い出さない）
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream()
+                .map(row -> {
+                    // 出力済みの行を永続化コンテキストに溜めない
+                    em.detach(row);
+                    return row;
+                });
+    }
+
+    /**
+     * JPQLからクエリを生成し、パラメータを設定
+     */
+    private <T> TypedQuery<T> createQuery(NoticeSearchQuery query, Class<T> resultClass) {
+        TypedQuery<T> typed = em.createQuery(query.jpql(), resultClass);
+        query.parameters().forEach(typed::setParameter);
+        return typed;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.todo.service;
+
+import com.example.todo.service.event.NoticeChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 適用終了したお知らせをアーカイブテーブル（t_notice_archive）へ移動するコンポーネント
+ * 適用終了日が保持期間（notice.archive.retention）より前のお知らせを、バッチ件数ごとのトランザクションで移動する
+ * 移動済みの行はt_noticeから削除されるため、中断した場合も次回の実行で残りから再開する
+ * <p>
+ * メトリクス
+ * <ul>
+ *   <li>notice.archive.rows: 移動した件数</li>
+ *   <li>notice.archive.batch: 1バッチの処理時間</li>
+ *   <li>notice.archive.pending: 移動待ちの件数（実行開始時に集計し、バッチごとに減算）</li>
+ * </ul>
+ */
+@Component
+public class NoticeArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(NoticeArchiver.class);
+
+    /**
+     * 適用終了日が基準日より前のお知らせを指定件数まで移動し、移動したIDを返す
+     * 画面から更新中の行は待たずに次回へ回す
+     */
+    private static final String MOVE_SQL = "WITH moved AS ("
+            + " DELETE FROM t_notice WHERE id IN ("
+            + " SELECT id FROM t_notice WHERE end_date < ? ORDER BY end_date, id LIMIT ? FOR UPDATE SKIP LOCKED)"
+            + " RETURNING id, title, category_cd, post_date, start_date, end_date, content, version, created_at, updated_at)"
+            + " INSERT INTO t_notice_archive"
+            + " (id, title, category_cd, post_date, start_date, end_date, content, version, created_at, updated_at)"
+            + " SELECT id, title, category_cd, post_date, start_date, end_date, content, version, created_at, updated_at"
+            + " FROM moved RETURNING id";
+
+    private static final String PENDING_SQL = "SELECT count(*) FROM t_notice WHERE end_date < ?";
+
+    private final JdbcTemplate jdbc;
+    private final ApplicationEventPublisher events;
+    private final NoticeEntityCacheLock cacheLock;
+    private final TransactionTemplate writeTx;
+    private final Period retention;
+    private final int batchSize;
+    private final Duration maxDuration;
+    private final Counter archivedRows;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public NoticeArchiver(JdbcTemplate jdbc,
+                          ApplicationEventPublisher events,
+                          NoticeEntityCacheLock cacheLock,
+                          PlatformTransactionManager txManager,
+                          MeterRegistry registry,
+                          @Value("${notice.archive.retention:0d}") Period retention,
+                          @Value("${notice.archive.batch-size:500}") int batchSize,
+                          @Value("${notice.archive.max-duration:10m}") Duration maxDuration) {
+        if (retention.isNegative()) {
+            throw new IllegalArgumentException("notice.archive.retention must not be negative: " + retention);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("notice.archive.batch-size must be positive: " + batchSize);
+        }
+        this.jdbc = jdbc;
+        this.events = events;
+        this.cacheLock = cacheLock;
+        this.writeTx = new TransactionTemplate(txManager);
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxDuration = maxDuration;
+        this.archivedRows = Counter.builder("notice.archive.rows")
+                .description("Notices moved to the archive table")
+                .register(registry);
+        this.batchTimer = Timer.builder("notice.archive.batch")
+                .description("Time to move one batch of notices to the archive table")
+                .register(registry);
+        Gauge.builder("notice.archive.pending", pending, AtomicLong::get)
+                .description("Notices past the retention date that are not archived yet")
+                .register(registry);
+    }
+
+    /**
+     * 毎日定刻にアーカイブを実行
+     */
+    @Scheduled(cron = "${notice.archive.cron:0 0 4 * * *}")
+    public void archive() {
+        archive(LocalDate.now());
+    }
+
+    /**
+     * 基準日から保持期間を遡った日より前に適用終了したお知らせを移動
+     * 上限時間（notice.archive.max-duration）に達した場合は、残りを次回の実行に回す
+     * @param today 基準日
+     * @return 移動件数
+     */
+    long archive(LocalDate today) {
+        if (retention.isZero()) {
+            return 0;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.info("Notice archiving is already running, skipping");
+            return 0;
+        }
+        try {
+            LocalDate cutoff = today.minus(retention);
+            pending.set(jdbc.queryForObject(PENDING_SQL, Long.class, cutoff));
+            long started = System.nanoTime();
+            long deadline = started + maxDuration.toNanos();
+            long moved = 0;
+            int batch;
+            do {
+                batch = moveBatch(cutoff);
+                moved += batch;
+            } while (batch == batchSize && System.nanoTime() - deadline < 0);
+
+            long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+            if (moved > 0 || pending.get() > 0) {
+                log.info("Archived {} notices ended before {} in {} ms ({} rows/s, {} remaining)",
+                        moved, cutoff, elapsedMillis, moved * 1000 / elapsedMillis, pending.get());
+            }
+            return moved;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 1バッチ分のお知らせを移動
+     * 移動したお知らせはバッチごとに1件のアーカイブイベントとして通知し、キャッシュ・検索インデックスから除く
+     */
+    private int moveBatch(LocalDate cutoff) {
+        List<Long> ids = batchTimer.record(() -> writeTx.execute(status -> {
+            List<Long> moved = jdbc.queryForList(MOVE_SQL, Long.class, cutoff, batchSize);
+            if (!moved.isEmpty()) {
+                // SQLで直接移動したため、コミットまでに読み込んだ行が第2レベルキャッシュに格納されないようロックする
+                cacheLock.lockForDelete(moved);
+                events.publishEvent(NoticeChangedEvent.archived(moved));
+            }
+            return moved;
+        }));
+        archivedRows.increment(ids.size());
+        pending.updateAndGet(value -> Math.max(0, value - ids.size()));
+        return ids.size();
+    }
+}
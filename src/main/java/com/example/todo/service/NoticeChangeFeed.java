@@ -0,0 +1,132 @@
+package com.example.todo.service;
+
+import com.example.todo.service.feed.NoticeChange;
+import com.example.todo.service.feed.NoticeChangePage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * お知らせの変更フィード（t_notice_change_feed）を読み込むコンポーネント
+ * 外部システムは前回読み込んだオフセットを指定して続きを読み込む
+ * 変更がない場合は待ち時間まで待機し、リレーが変更を追加した時点で応答する（ロングポーリング）
+ * 待機中はDB接続を保持しない。他のノードのリレーが追加した変更はリレー間隔ごとの再読み込みで検出する
+ */
+@Component
+public class NoticeChangeFeed {
+
+    /** 1回に読み込む最大件数 */
+    public static final int MAX_LIMIT = 1000;
+
+    private static final String READ_SQL = "SELECT change_offset, change_type, notice_id, payload::text, occurred_at"
+            + " FROM t_notice_change_feed WHERE change_offset > ? ORDER BY change_offset LIMIT ?";
+
+    private static final String OLDEST_SQL = "SELECT min(change_offset) FROM t_notice_change_feed";
+
+    private final JdbcTemplate jdbc;
+    private final Duration maxWait;
+    private final Duration recheckInterval;
+    /** リレーが変更を追加したときに完了し、次の待機用に差し替える */
+    private final AtomicReference<CompletableFuture<Void>> appended = new AtomicReference<>(new CompletableFuture<>());
+
+    public NoticeChangeFeed(JdbcTemplate jdbc,
+                            @Value("${notice.feed.max-wait:30s}") Duration maxWait,
+                            @Value("${notice.outbox.relay-interval:1s}") Duration recheckInterval) {
+        this.jdbc = jdbc;
+        this.maxWait = maxWait;
+        this.recheckInterval = recheckInterval;
+    }
+
+    /**
+     * 指定したオフセットより後の変更を読み込む
+     * @param after 前回読み込んだオフセット（先頭から読み込む場合0）
+     * @param limit 最大件数（1〜MAX_LIMIT）
+     * @param wait 変更がない場合の待ち時間（notice.feed.max-waitまで）
+     * @return 変更と次回のオフセット
+     * @throws IllegalArgumentException オフセット・件数が範囲外の場合
+     * @throws NoticeChangeFeed.OffsetExpiredException 指定したオフセットの続きが保持期間を過ぎて削除済みの場合
+     */
+    public NoticeChangePage read(long after, int limit, Duration wait) {
+        if (after < 0) {
+            throw new IllegalArgumentException("after must not be negative: " + after);
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ": " + limit);
+        }
+        long deadline = System.nanoTime() + (wait.compareTo(maxWait) > 0 ? maxWait : wait).toNanos();
+        while (true) {
+            // 読み込み後に追加された変更を取りこぼさないよう、読み込み前の通知を待つ
+            CompletableFuture<Void> signal = appended.get();
+            List<NoticeChange> changes = jdbc.query(READ_SQL, (rs, rowNum) -> new NoticeChange(
+                    rs.getLong(1), rs.getString(2), rs.getObject(3, Long.class), rs.getString(4),
+                    rs.getTimestamp(5).toLocalDateTime()), after, limit);
+            if (!changes.isEmpty()) {
+                if (changes.get(0).offset() > after + 1) {
+                    checkNotExpired(after);
+                }
+                return new NoticeChangePage(changes, changes.get(changes.size() - 1).offset());
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !await(signal, Math.min(remaining, recheckInterval.toNanos()))) {
+                return new NoticeChangePage(List.of(), after);
+            }
+        }
+    }
+
+    /**
+     * リレーが変更を追加したことを待機中の読み込みに通知
+     */
+    void signalAppended() {
+        appended.getAndSet(new CompletableFuture<>()).complete(null);
+    }
+
+    /**
+     * 通知を待つ
+     * @return 中断された場合false
+     */
+    private static boolean await(CompletableFuture<Void> signal, long nanos) {
+        try {
+            signal.get(nanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // 再読み込みして他のノードが追加した変更を確認する
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return true;
+    }
+
+    /**
+     * 指定したオフセットの続きが削除済みでないか確認（読み込んだ先頭のオフセットが連続していない場合のみ）
+     * 保持期間による削除はオフセット順のため、保持している最小のオフセットより前が欠けていれば削除済みとみなす
+     * （ロールバックによる採番の欠番でも同様に判定されることがある）
+     */
+    private void checkNotExpired(long after) {
+        if (after == 0) {
+            return;
+        }
+        Long oldest = jdbc.queryForObject(OLDEST_SQL, Long.class);
+        if (oldest != null && oldest > after + 1) {
+            throw new OffsetExpiredException(after, oldest);
+        }
+    }
+
+    /**
+     * 指定したオフセットの続きが保持期間を過ぎて削除済み（外部システムは全件を取得し直す必要がある）
+     */
+    public static class OffsetExpiredException extends RuntimeException {
+        public OffsetExpiredException(long after, long oldest) {
+            super("Changes after offset " + after + " have expired; the oldest retained offset is " + oldest);
+        }
+    }
+}
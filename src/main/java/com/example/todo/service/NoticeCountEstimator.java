@@ -0,0 +1,42 @@
+package com.example.todo.service;
+
+import com.example.todo.service.query.NoticeSearchCondition;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * PostgreSQLの実行計画から検索結果件数を推定するコンポーネント
+ * COUNT(*)のように該当行を走査せず、統計情報に基づく推定行数（Plan Rows）を返す
+ * 条件式とパラメータは一覧検索と同じくNoticeSearchQueryCompilerが組み立てる
+ */
+@Component
+public class NoticeCountEstimator {
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final NoticeSearchQueryCompiler queries;
+    private final ObjectMapper objectMapper;
+
+    public NoticeCountEstimator(NamedParameterJdbcTemplate jdbc, NoticeSearchQueryCompiler queries,
+                                ObjectMapper objectMapper) {
+        this.jdbc = jdbc;
+        this.queries = queries;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 検索条件に一致する件数を推定
+     * @param condition 検索条件
+     * @return 推定件数
+     */
+    public long estimate(NoticeSearchCondition condition) {
+        String plan = jdbc.queryForObject("EXPLAIN (FORMAT JSON) " + queries.estimateSql(condition),
+                queries.count(condition).parameters(), String.class);
+        try {
+            return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unexpected EXPLAIN output: " + plan, ex);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.todo.service;
+
+import com.example.todo.service.event.NoticeChangedEvent;
+import com.example.todo.service.event.NoticeInvalidatedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * お知らせデータ全体のバージョン
+ * 登録・更新・削除のコミット後に更新し、条件付きGETのETagや描画結果キャッシュのキーに使用する
+ */
+@Component
+public class NoticeDataVersion {
+
+    /** 再起動前のバージョンと衝突しないよう、起動ごとに異なる識別子 */
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Instant lastModified = Instant.now();
+
+    /**
+     * 現在のバージョン
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * 最終更新日時（起動後に変更がない場合は起動日時）
+     */
+    public Instant lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * 現在のバージョンを表すETag値
+     */
+    public String etag() {
+        return "W/\"" + bootId + "-" + version.get() + "\"";
+    }
+
+    /**
+     * バージョンを更新
+     */
+    public void bump() {
+        lastModified = Instant.now();
+        version.incrementAndGet();
+    }
+
+    /**
+     * お知らせ変更のコミット後にバージョンを更新
+     */
+    @TransactionalEventListener
+    public void onNoticeChanged(NoticeChangedEvent event) {
+        bump();
+    }
+
+    /**
+     * 他のノードでのお知らせ変更時にバージョンを更新
+     */
+    @EventListener
+    public void onNoticeInvalidated(NoticeInvalidatedEvent event) {
+        bump();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.todo.service;
+
+import com.example.todo.domain.Notice;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * お知らせエンティティの第2レベルキャッシュ（リージョン notice）のエントリをソフトロックするコンポーネント
+ * 更新・削除・アーカイブはエンティティを読み込まないSQLで行うため、Hibernateがエンティティの更新時に行うロックを同様に行う
+ * <ul>
+ *   <li>ロック中は読み込んだ行をキャッシュに格納しない（コミット前に読み込んだ古い行を後から格納しない）</li>
+ *   <li>コミット後はロック時のバージョン以下の行を格納しない（遅延したレプリカから読み込んだ古い行を格納しない）</li>
+ *   <li>ロールバックした場合はロックを破棄し、変更前の行を再び格納できるようにする</li>
+ * </ul>
+ * リージョン全体は破棄しないため、編集画面で参照する他のお知らせのエントリは残る
+ */
+@Component
+public class NoticeEntityCacheLock {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /**
+     * 更新するお知らせのエントリをトランザクション完了までロック
+     * 更新文の実行前に呼び出すこと
+     * @param id お知らせID
+     * @param version 更新前のバージョン
+     */
+    public void lockForUpdate(Long id, Long version) {
+        lock(id, version);
+    }
+
+    /**
+     * 削除するお知らせのエントリをトランザクション完了までロック
+     * バージョンが不明なため、コミット後はロック解除より前に開始した読み込みの格納のみを拒否する
+     * @param ids お知らせID
+     */
+    public void lockForDelete(Collection<Long> ids) {
+        ids.forEach(id -> lock(id, null));
+    }
+
+    private void lock(Long id, Long version) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Notice cache entries must be locked in a transaction");
+        }
+        SharedSessionContractImplementor session = em.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Notice.class);
+        EntityDataAccess access = persister.getCacheAccessStrategy();
+        if (access == null) {
+            return;
+        }
+        Object key = access.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+        SoftLock lock = access.lockItem(session, key, version);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                access.unlockItem(session, key, lock);
+                if (status != STATUS_COMMITTED) {
+                    access.evict(key);
+                }
+            }
+        });
+    }
+}
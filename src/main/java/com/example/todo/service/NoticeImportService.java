@@ -0,0 +1,143 @@
+package com.example.todo.service;
+
+import com.example.todo.domain.Notice;
+import com.example.todo.repository.NoticeRepository;
+import com.example.todo.service.bulk.NoticeImportLine;
+import com.example.todo.service.bulk.NoticeImportResult;
+import com.example.todo.service.event.NoticeChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * お知らせの一括登録サービス
+ * 入力を一定件数ごとのチャンクに分けて登録・コミットし、チャンク内のINSERTはJDBCバッチで発行する
+ * 入力エラーの行は登録せず、行番号とメッセージを結果として返す
+ */
+@Service
+public class NoticeImportService {
+    private static final Logger log = LoggerFactory.getLogger(NoticeImportService.class);
+
+    /** チャンクの登録に失敗した場合のメッセージ */
+    private static final String MSG_CHUNK_FAILED = "登録に失敗しました。";
+
+    private final NoticeRepository repo;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+    /** 1トランザクションで登録する件数 */
+    private final int chunkSize;
+    /** 結果に含める行エラーの上限件数 */
+    private final int maxReportedErrors;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public NoticeImportService(NoticeRepository repo, ApplicationEventPublisher events,
+                               PlatformTransactionManager txManager,
+                               @Value("${notice.import.chunk-size:1000}") int chunkSize,
+                               @Value("${notice.import.max-reported-errors:1000}") int maxReportedErrors) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("notice.import.chunk-size must be positive: " + chunkSize);
+        }
+        this.repo = repo;
+        this.events = events;
+        this.tx = new TransactionTemplate(txManager);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * お知らせを一括登録
+     * 入力は逐次読み込むため、件数によらず保持するのは1チャンク分のみ
+     * 登録に失敗したチャンクはロールバックし、以降のチャンクの登録を続ける
+     * @param lines 入力（行番号順）
+     * @return 登録結果
+     */
+    public NoticeImportResult importNotices(Iterator<NoticeImportLine> lines) {
+        long startedAt = System.nanoTime();
+        List<NoticeImportResult.RowError> errors = new ArrayList<>();
+        List<NoticeImportLine> chunk = new ArrayList<>(chunkSize);
+        long imported = 0;
+        long rejected = 0;
+        while (lines.hasNext()) {
+            NoticeImportLine line = lines.next();
+            if (!line.isValid()) {
+                rejected++;
+                addError(errors, line.lineNumber(), line.errors());
+                continue;
+            }
+            chunk.add(line);
+            if (chunk.size() == chunkSize) {
+                long saved = saveChunk(chunk, errors);
+                imported += saved;
+                rejected += chunk.size() - saved;
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            long saved = saveChunk(chunk, errors);
+            imported += saved;
+            rejected += chunk.size() - saved;
+        }
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        NoticeImportResult result = new NoticeImportResult(imported, rejected, List.copyOf(errors), elapsedMillis);
+        log.info("Notice import finished: imported={}, rejected={}, elapsed={}ms, {} rows/s",
+                imported, rejected, elapsedMillis, Math.round(result.rowsPerSecond()));
+        return result;
+    }
+
+    /**
+     * 1チャンクを1トランザクションで登録
+     * 登録後に永続化コンテキストをクリアし、登録済みのエンティティを保持し続けない
+     * @return 登録件数（失敗した場合0）
+     */
+    private long saveChunk(List<NoticeImportLine> chunk, List<NoticeImportResult.RowError> errors) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            tx.executeWithoutResult(status -> {
+                List<Notice> notices = new ArrayList<>(chunk.size());
+                for (NoticeImportLine line : chunk) {
+                    Notice notice = line.notice();
+                    notice.setCreatedAt(now);
+                    notice.setUpdatedAt(now);
+                    notices.add(notice);
+                }
+                repo.saveAll(notices);
+                repo.flush();
+                em.clear();
+                events.publishEvent(NoticeChangedEvent.created(notices));
+            });
+            return chunk.size();
+        } catch (DataAccessException | PersistenceException ex) {
+            log.warn("Notice import chunk failed: lines {}-{}", chunk.get(0).lineNumber(),
+                    chunk.get(chunk.size() - 1).lineNumber(), ex);
+            em.clear();
+            for (NoticeImportLine line : chunk) {
+                addError(errors, line.lineNumber(), List.of(MSG_CHUNK_FAILED));
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * 行エラーを上限件数まで追加
+     */
+    private void addError(List<NoticeImportResult.RowError> errors, long lineNumber, List<String> messages) {
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new NoticeImportResult.RowError(lineNumber, messages));
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.todo.service;
+
+import com.example.todo.domain.Notice;
+import com.example.todo.service.event.NoticeChangedEvent;
+import com.example.todo.service.event.NoticeInvalidatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 複数ノード構成でお知らせのキャッシュを破棄するため、変更をPostgreSQLのLISTEN/NOTIFYで他のノードへ通知するコンポーネント
+ * <p>
+ * 送信: お知らせ変更と同じトランザクションで、変更されたIDをまとめて1回のNOTIFYで送る（コミット時に配信される）
+ * 受信: 専用の接続（接続プール外）でLISTENし、短時間に届いた通知をまとめてから
+ * 第2レベルキャッシュを破棄し、NoticeInvalidatedEventを発行する（一覧キャッシュ・件数キャッシュ・検索インデックスなどが破棄する）
+ * 自ノードが送った通知は、コミット後のNoticeChangedEventで破棄済みのため無視する
+ * <p>
+ * 接続が切れた場合は再接続し、切断中の通知を取りこぼした可能性があるため全件を破棄する
+ * <p>
+ * メトリクス
+ * <ul>
+ *   <li>notice.invalidation.published: 送信した通知数</li>
+ *   <li>notice.invalidation.received: 他のノードからの通知をまとめて破棄した回数（scope=ids|all）</li>
+ *   <li>notice.invalidation.connected: LISTEN接続の状態（1:接続中、0:切断中）</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "notice.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class NoticeInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(NoticeInvalidationBus.class);
+
+    /** 通知チャネル */
+    private static final String CHANNEL = "notice_invalidation";
+
+    /** 対象を特定しない通知のID部分 */
+    private static final String ALL = "*";
+
+    /** 通知の最大長（PostgreSQLの上限8000バイト未満）。超える場合は全件破棄を通知する */
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    /** まとめたIDがこの件数を超えた場合は全件破棄する */
+    private static final int MAX_IDS = 1000;
+
+    private final JdbcTemplate jdbc;
+    private final DataSourceProperties dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher events;
+    private final Duration coalesceWindow;
+    private final Duration reconnectInterval;
+    private final Duration keepalive;
+    /** 自ノードの通知を識別するID（起動ごとに異なる） */
+    private final String nodeId = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Thread listener;
+    private volatile boolean running = true;
+    private volatile Connection connection;
+    private final AtomicInteger connected = new AtomicInteger();
+    private final Counter published;
+    private final Counter receivedIds;
+    private final Counter receivedAll;
+
+    public NoticeInvalidationBus(JdbcTemplate jdbc,
+                                 DataSourceProperties dataSource,
+                                 EntityManagerFactory entityManagerFactory,
+                                 ApplicationEventPublisher events,
+                                 MeterRegistry registry,
+                                 @Value("${notice.invalidation.coalesce-window:100ms}") Duration coalesceWindow,
+                                 @Value("${notice.invalidation.reconnect-interval:5s}") Duration reconnectInterval,
+                                 @Value("${notice.invalidation.keepalive:30s}") Duration keepalive) {
+        if (coalesceWindow.isNegative()) {
+            throw new IllegalArgumentException("notice.invalidation.coalesce-window must not be negative: "
+                    + coalesceWindow);
+        }
+        if (reconnectInterval.isNegative() || reconnectInterval.isZero()
+                || keepalive.isNegative() || keepalive.isZero()) {
+            throw new IllegalArgumentException("notice.invalidation.reconnect-interval and keepalive must be positive");
+        }
+        this.jdbc = jdbc;
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.events = events;
+        this.coalesceWindow = coalesceWindow;
+        this.reconnectInterval = reconnectInterval;
+        this.keepalive = keepalive;
+        this.published = Counter.builder("notice.invalidation.published")
+                .description("Notice invalidation notifications sent to other nodes")
+                .register(registry);
+        this.receivedIds = Counter.builder("notice.invalidation.received")
+                .description("Coalesced notice invalidations received from other nodes")
+                .tag("scope", "ids")
+                .register(registry);
+        this.receivedAll = Counter.builder("notice.invalidation.received")
+                .description("Coalesced notice invalidations received from other nodes")
+                .tag("scope", "all")
+                .register(registry);
+        Gauge.builder("notice.invalidation.connected", connected, AtomicInteger::get)
+                .description("Whether the notice invalidation listener is connected")
+                .register(registry);
+        this.listener = Thread.ofVirtual().name("notice-invalidation-listener").start(this::listen);
+    }
+
+    // ===================================
+    // 送信
+    // ===================================
+
+    /**
+     * 変更を現在のトランザクションの通知対象に追加（コミット直前にまとめて1回送る）
+     */
+    @EventListener
+    public void onNoticeChanged(NoticeChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        Set<Long> ids = pendingIds();
+        if (event.type() == NoticeChangedEvent.Type.BULK) {
+            ids.add(null);
+        } else {
+            ids.addAll(event.ids());
+        }
+    }
+
+    /**
+     * 現在のトランザクションで通知するID（全件破棄の場合nullを含む）
+     */
+    @SuppressWarnings("unchecked")
+    private Set<Long> pendingIds() {
+        Set<Long> ids = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (ids != null) {
+            return ids;
+        }
+        Set<Long> created = new LinkedHashSet<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // NOTIFYはパラメータを受け付けないため、数字と英字のみの通知内容を埋め込む
+                jdbc.execute("NOTIFY " + CHANNEL + ", '" + payload(created) + "'");
+                published.increment();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(NoticeInvalidationBus.this);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * 通知内容（ノードID:ID,ID,... または ノードID:*）
+     */
+    private String payload(Set<Long> ids) {
+        String body = ids.contains(null) || ids.size() > MAX_IDS
+                ? ALL
+                : ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        if (body.length() > MAX_PAYLOAD_LENGTH) {
+            body = ALL;
+        }
+        return nodeId + ":" + body;
+    }
+
+    // ===================================
+    // 受信
+    // ===================================
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        listener.interrupt();
+        Connection current = connection;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException ignored) {
+                // 停止時のため無視する
+            }
+        }
+    }
+
+    /**
+     * LISTEN接続を維持し、通知を受け取って破棄する（切断時は再接続する）
+     */
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection conn = connect()) {
+                connection = conn;
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                connected.set(1);
+                if (reconnecting) {
+                    log.info("Notice invalidation listener reconnected; flushing local notice caches");
+                    invalidate(NoticeInvalidatedEvent.all());
+                }
+                receive(conn, conn.unwrap(PGConnection.class));
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Notice invalidation listener disconnected; retrying in {}", reconnectInterval, ex);
+            } finally {
+                connection = null;
+                connected.set(0);
+                // 以降の接続では切断中（または初回の接続失敗中）の通知を取りこぼした可能性がある
+                reconnecting = true;
+            }
+            try {
+                Thread.sleep(reconnectInterval.toMillis());
+            } catch (InterruptedException ex) {
+                return;
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        if (dataSource.determineUsername() != null) {
+            properties.setProperty("user", dataSource.determineUsername());
+        }
+        if (dataSource.determinePassword() != null) {
+            properties.setProperty("password", dataSource.determinePassword());
+        }
+        properties.setProperty("ApplicationName", "notice-invalidation");
+        properties.setProperty("tcpKeepAlive", "true");
+        // 応答のない接続を検出する（通知待ちの間はドライバーが待ち時間に置き換える）
+        properties.setProperty("socketTimeout", Long.toString(keepalive.multipliedBy(2).toSeconds()));
+        return DriverManager.getConnection(dataSource.determineUrl(), properties);
+    }
+
+    /**
+     * 通知を待ち、最初の通知からcoalesce-windowの間に届いた通知をまとめて破棄する
+     * 通知がないままkeepaliveを過ぎた場合は接続を確認する
+     */
+    private void receive(Connection conn, PGConnection pg) throws SQLException {
+        while (running) {
+            PGNotification[] first = pg.getNotifications((int) keepalive.toMillis());
+            if (first == null || first.length == 0) {
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                continue;
+            }
+            Set<Long> ids = new HashSet<>();
+            boolean all = collect(first, ids);
+            long deadline = System.nanoTime() + coalesceWindow.toNanos();
+            long remaining;
+            while (!all && (remaining = (deadline - System.nanoTime()) / 1_000_000) > 0) {
+                all = collect(pg.getNotifications((int) remaining), ids);
+            }
+            if (all || ids.size() > MAX_IDS) {
+                invalidate(NoticeInvalidatedEvent.all());
+            } else if (!ids.isEmpty()) {
+                invalidate(NoticeInvalidatedEvent.of(ids));
+            }
+        }
+    }
+
+    /**
+     * 他のノードの通知からIDを取り出す
+     * @return 全件破棄が必要な場合true
+     */
+    private boolean collect(PGNotification[] notifications, Set<Long> ids) {
+        if (notifications == null) {
+            return false;
+        }
+        boolean all = false;
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            int separator = payload.indexOf(':');
+            if (separator < 0) {
+                all = true;
+                continue;
+            }
+            if (payload.substring(0, separator).equals(nodeId)) {
+                continue;
+            }
+            String body = payload.substring(separator + 1);
+            if (body.equals(ALL)) {
+                all = true;
+                continue;
+            }
+            for (String id : body.split(",")) {
+                ids.add(Long.valueOf(id));
+            }
+        }
+        return all;
+    }
+
+    /**
+     * 第2レベルキャッシュを破棄し、その他のキャッシュの破棄をイベントで依頼する
+     */
+    private void invalidate(NoticeInvalidatedEvent event) {
+        if (event.isAll()) {
+            entityManagerFactory.getCache().evict(Notice.class);
+            receivedAll.increment();
+        } else {
+            event.ids().forEach(id -> entityManagerFactory.getCache().evict(Notice.class, id));
+            receivedIds.increment();
+        }
+        try {
+            events.publishEvent(event);
+        } catch (RuntimeException ex) {
+            // 受信を続けるため、破棄に失敗したキャッシュはログに記録するのみとする
+            log.warn("Failed to invalidate local notice caches", ex);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.todo.service;
+
+import com.example.todo.service.query.NoticeSearchCondition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * お知らせ操作のメトリクスを記録するコンポーネント
+ * <ul>
+ *   <li>notice.operation: 参照・登録・更新・削除の処理時間（operation, outcome）</li>
+ *   <li>notice.search: 一覧検索の処理時間（mode, engine）</li>
+ *   <li>notice.search.requests: 一覧検索の件数（predicates, outcome）</li>
+ *   <li>notice.search.rows: 一覧検索の取得件数（mode）</li>
+ *   <li>notice.search.count: 総件数取得（COUNT）の処理時間（engine）</li>
+ * </ul>
+ * predicatesタグは指定された検索条件の項目名を固定順に連結したもの（例: title+keyword、条件なしはnone）
+ * 組み合わせが最大256通りとなるため、ヒストグラムを持つタイマーには付けず、件数のカウンターと遅い検索のログにのみ記録する
+ * 処理時間がしきい値（notice.metrics.slow-search-threshold）を超えた検索は警告ログに出力する
+ */
+@Component
+public class NoticeMetrics {
+    private static final Logger log = LoggerFactory.getLogger(NoticeMetrics.class);
+
+    /** 検索条件の項目名（NoticeSearchConditionの項目順） */
+    private static final String[] PREDICATE_NAMES = {
+            "title", "category", "postDate", "from", "to", "keyword", "effectiveOn", "includeArchived"};
+
+    /** 指定項目の組み合わせごとのpredicatesタグ（添字は項目のビット集合） */
+    private static final String[] PREDICATE_TAGS = new String[1 << PREDICATE_NAMES.length];
+
+    static {
+        for (int mask = 0; mask < PREDICATE_TAGS.length; mask++) {
+            StringJoiner tag = new StringJoiner("+");
+            for (int i = 0; i < PREDICATE_NAMES.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    tag.add(PREDICATE_NAMES[i]);
+                }
+            }
+            PREDICATE_TAGS[mask] = mask == 0 ? "none" : tag.toString();
+        }
+    }
+
+    private final MeterRegistry registry;
+    /** 警告ログを出力する検索時間（0の場合は出力しない） */
+    private final long slowSearchNanos;
+
+    public NoticeMetrics(MeterRegistry registry,
+                         @Value("${notice.metrics.slow-search-threshold:500ms}") Duration slowSearchThreshold) {
+        this.registry = registry;
+        this.slowSearchNanos = slowSearchThreshold.toNanos();
+    }
+
+    /**
+     * 参照・登録・更新・削除の処理時間を記録
+     * @param operation 操作名（find, create, update, delete）
+     * @param action 処理
+     * @return 処理結果
+     */
+    public <T> T recordOperation(String operation, Supplier<T> action) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } finally {
+            Timer.builder("notice.operation")
+                    .description("Notice operation latency")
+                    .tags("operation", operation, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 一覧検索の処理時間と取得件数を記録
+     * @param mode 検索方式（page, slice, keyset）
+     * @param engine 検索エンジン（jpa, index）
+     * @param condition 検索条件
+     * @param search 検索処理
+     * @param rows 検索結果から取得件数を求める関数
+     * @return 検索結果
+     */
+    public <T> T recordSearch(String mode, String engine, NoticeSearchCondition condition,
+                              Supplier<T> search, ToIntFunction<T> rows) {
+        String predicates = predicatesTag(condition);
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = search.get();
+            outcome = "success";
+            int count = rows.applyAsInt(result);
+            DistributionSummary.builder("notice.search.rows")
+                    .description("Rows returned by a notice search")
+                    .baseUnit("rows")
+                    .tags("mode", mode)
+                    .register(registry)
+                    .record(count);
+            logIfSlow(mode, engine, predicates, condition, System.nanoTime() - start, count);
+            return result;
+        } finally {
+            Timer.builder("notice.search")
+                    .description("Notice search latency")
+                    .tags("mode", mode, "engine", engine)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            Counter.builder("notice.search.requests")
+                    .description("Notice searches by specified predicates")
+                    .tags("predicates", predicates, "outcome", outcome)
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    /**
+     * 総件数取得（COUNT）の処理時間を記録
+     * @param engine 検索エンジン（jpa, index）
+     * @param count 件数取得処理
+     * @return 件数
+     */
+    public long recordCount(String engine, LongSupplier count) {
+        long start = System.nanoTime();
+        try {
+            return count.getAsLong();
+        } finally {
+            Timer.builder("notice.search.count")
+                    .description("Notice search count query latency")
+                    .tags("engine", engine)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 指定された検索条件の項目からpredicatesタグを取得
+     */
+    static String predicatesTag(NoticeSearchCondition condition) {
+        int mask = 0;
+        mask |= isSet(condition.title()) ? 1 : 0;
+        mask |= isSet(condition.categoryCode()) ? 1 << 1 : 0;
+        mask |= condition.postDate() != null ? 1 << 2 : 0;
+        mask |= condition.effectiveFrom() != null ? 1 << 3 : 0;
+        mask |= condition.effectiveTo() != null ? 1 << 4 : 0;
+        mask |= isSet(condition.keyword()) ? 1 << 5 : 0;
+        mask |= condition.effectiveOn() != null ? 1 << 6 : 0;
+        mask |= condition.includeArchived() ? 1 << 7 : 0;
+        return PREDICATE_TAGS[mask];
+    }
+
+    private void logIfSlow(String mode, String engine, String predicates, NoticeSearchCondition condition,
+                           long elapsedNanos, int rows) {
+        if (slowSearchNanos > 0 && elapsedNanos > slowSearchNanos) {
+            log.warn("Slow notice search: {}ms mode={} engine={} predicates={} rows={} condition={}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), mode, engine, predicates, rows, condition);
+        }
+    }
+
+    private static boolean isSet(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.todo.service;
+
+import com.example.todo.domain.Notice;
+import com.example.todo.service.event.NoticeChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * お知らせ変更をアウトボックス（t_notice_outbox）に記録するコンポーネント
+ * 変更と同じトランザクションで記録するため、ロールバックされた変更は記録されず、コミットされた変更は必ず記録される
+ * トランザクション中の変更はまとめて保持し、コミット直前に1回のバッチINSERTで書き込む
+ */
+@Component
+public class NoticeOutbox {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO t_notice_outbox (change_type, notice_id, payload) VALUES (?, ?, ?::jsonb)";
+
+    /**
+     * 変更後のお知らせ（内容は含まない）
+     */
+    record Payload(String title, String categoryCode, LocalDate postDate, LocalDate startDate,
+                   LocalDate endDate, Long version, LocalDateTime updatedAt) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+
+    public NoticeOutbox(JdbcTemplate jdbc, ObjectMapper objectMapper) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 変更を現在のトランザクションの記録対象に追加（複数件の変更はお知らせごとの行に展開する）
+     * @throws IllegalStateException トランザクション外で変更が通知された場合
+     */
+    @EventListener
+    public void onNoticeChanged(NoticeChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Notice changes must be published within a transaction");
+        }
+        List<Object[]> rows = pendingRows();
+        String type = event.type().name();
+        switch (event.type()) {
+            case CREATED, UPDATED -> event.notices()
+                    .forEach(notice -> rows.add(new Object[]{type, notice.getId(), payload(notice)}));
+            case DELETED, ARCHIVED -> event.ids().forEach(id -> rows.add(new Object[]{type, id, null}));
+            case BULK -> rows.add(new Object[]{type, null, null});
+        }
+    }
+
+    /**
+     * 現在のトランザクションで記録する行（初回の変更時にコミット前の書き込みを登録）
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> pendingRows() {
+        List<Object[]> rows = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (rows != null) {
+            return rows;
+        }
+        List<Object[]> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                jdbc.batchUpdate(INSERT_SQL, created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(NoticeOutbox.this);
+            }
+        });
+        return created;
+    }
+
+    private String payload(Notice notice) {
+        try {
+            return objectMapper.writeValueAsString(new Payload(notice.getTitle(), notice.getCategoryCode(),
+                    notice.getPostDate(), notice.getStartDate(), notice.getEndDate(),
+                    notice.getVersion(), notice.getUpdatedAt()));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize notice change", ex);
+        }
+    }
+}
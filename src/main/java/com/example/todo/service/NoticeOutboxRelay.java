@@ -0,0 +1,163 @@
+package com.example.todo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * アウトボックス（t_notice_outbox）の変更を変更フィード（t_notice_change_feed）へ移すコンポーネント
+ * リレー間隔（notice.outbox.relay-interval）ごとに、記録順にバッチ件数ずつ1トランザクションで移す
+ * 複数ノードで起動している場合もアドバイザリロックで1つのノードのみが移すため、フィードのオフセットはコミット順に増加する
+ * <p>
+ * メトリクス
+ * <ul>
+ *   <li>notice.outbox.relayed: フィードへ移した件数（rateで1秒あたりのイベント数）</li>
+ *   <li>notice.outbox.relay.batch: 1バッチの処理時間</li>
+ *   <li>notice.outbox.pending: 移動待ちの件数（リレー実行後の値）</li>
+ *   <li>notice.outbox.lag: 移動待ちの最も古い変更の経過秒数（リレー実行後の値）</li>
+ * </ul>
+ */
+@Component
+public class NoticeOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(NoticeOutboxRelay.class);
+
+    /** リレーを1つのノードに限定するロック（トランザクション終了時に解放） */
+    private static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('t_notice_outbox'))";
+
+    /**
+     * 記録順に指定件数をフィードへ移し、移した件数を返す
+     */
+    private static final String RELAY_SQL = "WITH moved AS ("
+            + " DELETE FROM t_notice_outbox WHERE id IN (SELECT id FROM t_notice_outbox ORDER BY id LIMIT ?)"
+            + " RETURNING id, change_type, notice_id, payload, created_at)"
+            + " INSERT INTO t_notice_change_feed (change_type, notice_id, payload, occurred_at)"
+            + " SELECT change_type, notice_id, payload, created_at FROM moved ORDER BY id";
+
+    private static final String BACKLOG_SQL = "SELECT count(*),"
+            + " COALESCE(EXTRACT(EPOCH FROM (LOCALTIMESTAMP - min(created_at))), 0) FROM t_notice_outbox";
+
+    private static final String CLEANUP_SQL = "DELETE FROM t_notice_change_feed WHERE change_offset IN ("
+            + " SELECT change_offset FROM t_notice_change_feed WHERE relayed_at < ? ORDER BY change_offset LIMIT ?)";
+
+    private final JdbcTemplate jdbc;
+    private final NoticeChangeFeed feed;
+    private final TransactionTemplate writeTx;
+    private final int batchSize;
+    private final Duration retention;
+    private final Counter relayedRows;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    /** 移動待ちの最も古い変更の経過時間（ミリ秒） */
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public NoticeOutboxRelay(JdbcTemplate jdbc,
+                             NoticeChangeFeed feed,
+                             PlatformTransactionManager txManager,
+                             MeterRegistry registry,
+                             @Value("${notice.outbox.batch-size:500}") int batchSize,
+                             @Value("${notice.feed.retention:7d}") Duration retention) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("notice.outbox.batch-size must be positive: " + batchSize);
+        }
+        if (retention.isNegative() || retention.isZero()) {
+            throw new IllegalArgumentException("notice.feed.retention must be positive: " + retention);
+        }
+        this.jdbc = jdbc;
+        this.feed = feed;
+        this.writeTx = new TransactionTemplate(txManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.relayedRows = Counter.builder("notice.outbox.relayed")
+                .description("Notice changes relayed from the outbox to the change feed")
+                .register(registry);
+        this.batchTimer = Timer.builder("notice.outbox.relay.batch")
+                .description("Time to relay one batch of notice changes")
+                .register(registry);
+        Gauge.builder("notice.outbox.pending", pending, AtomicLong::get)
+                .description("Notice changes waiting in the outbox")
+                .register(registry);
+        Gauge.builder("notice.outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Age of the oldest notice change waiting in the outbox")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /**
+     * アウトボックスが空になるまでバッチ単位でフィードへ移す
+     * @return 移した件数
+     */
+    @Scheduled(fixedDelayString = "${notice.outbox.relay-interval:1s}",
+            initialDelayString = "${notice.outbox.relay-interval:1s}")
+    public long relay() {
+        long started = System.nanoTime();
+        long relayed = 0;
+        int batches = 0;
+        int batch;
+        do {
+            batch = relayBatch();
+            if (batch > 0) {
+                relayed += batch;
+                batches++;
+                feed.signalAppended();
+            }
+        } while (batch == batchSize);
+
+        jdbc.query(BACKLOG_SQL, rs -> {
+            pending.set(rs.getLong(1));
+            lagMillis.set(Math.round(rs.getDouble(2) * 1000));
+        });
+        if (batches > 1) {
+            long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+            log.info("Relayed {} notice changes in {} ms ({} events/s, {} pending)",
+                    relayed, elapsedMillis, relayed * 1000 / elapsedMillis, pending.get());
+        }
+        return relayed;
+    }
+
+    /**
+     * 1バッチ分の変更をフィードへ移す
+     * @return 移した件数（他のノードがリレー中の場合0）
+     */
+    private int relayBatch() {
+        Integer moved = batchTimer.record(() -> writeTx.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbc.queryForObject(LOCK_SQL, Boolean.class))) {
+                return 0;
+            }
+            return jdbc.update(RELAY_SQL, batchSize);
+        }));
+        int count = moved != null ? moved : 0;
+        relayedRows.increment(count);
+        return count;
+    }
+
+    /**
+     * 保持期間（notice.feed.retention）を過ぎた変更をフィードから削除
+     */
+    @Scheduled(cron = "${notice.feed.cleanup-cron:0 45 4 * * *}")
+    public void cleanup() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long deleted = 0;
+        int batch;
+        do {
+            batch = writeTx.execute(status -> jdbc.update(CLEANUP_SQL, cutoff, batchSize));
+            deleted += batch;
+        } while (batch == batchSize);
+        if (deleted > 0) {
+            log.info("Deleted {} notice changes relayed before {}", deleted, cutoff);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.todo.service;
+
+import com.example.todo.domain.Notice;
+import com.example.todo.service.event.NoticeChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * お知らせテーブル（掲載日で範囲パーティション化、V6）のパーティションを管理するコンポーネント
+ * <ul>
+ *   <li>将来の期間のパーティションを事前に作成（notice.partition.premake期間分）</li>
+ *   <li>保持期間（notice.partition.retention）を過ぎたパーティションを切り離す、または削除</li>
+ *   <li>各パーティションに内容を圧縮する行の大きさ（notice.content.compression-threshold）を設定（V8）</li>
+ * </ul>
+ * デフォルトパーティション（掲載日未設定など）は対象外とする
+ */
+@Component
+public class NoticePartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(NoticePartitionManager.class);
+
+    private static final String TABLE = "t_notice";
+
+    /** パーティションの範囲（pg_get_exprの出力） */
+    private static final Pattern BOUND = Pattern.compile("FOR VALUES FROM \\('([0-9-]+)'\\) TO \\('([0-9-]+)'\\)");
+
+    /**
+     * パーティションの単位
+     */
+    enum Interval {
+        YEAR(Period.ofYears(1), DateTimeFormatter.ofPattern("'y'yyyy")),
+        MONTH(Period.ofMonths(1), DateTimeFormatter.ofPattern("'m'yyyyMM"));
+
+        private final Period length;
+        private final DateTimeFormatter suffix;
+
+        Interval(Period length, DateTimeFormatter suffix) {
+            this.length = length;
+            this.suffix = suffix;
+        }
+
+        LocalDate startOf(LocalDate date) {
+            return this == YEAR ? date.withDayOfYear(1) : date.withDayOfMonth(1);
+        }
+    }
+
+    /**
+     * 保持期間を過ぎたパーティションの扱い
+     */
+    enum RetentionAction {
+        /** 親テーブルから切り離し、単独のテーブルとして残す */
+        DETACH,
+        /** 削除する */
+        DROP
+    }
+
+    /**
+     * 期間指定のパーティション
+     * @param name テーブル名
+     * @param from 範囲の開始日（含む）
+     * @param to 範囲の終了日（含まない）
+     */
+    record Partition(String name, LocalDate from, LocalDate to) {
+        boolean overlaps(LocalDate otherFrom, LocalDate otherTo) {
+            return from.isBefore(otherTo) && otherFrom.isBefore(to);
+        }
+    }
+
+    private final JdbcTemplate jdbc;
+    private final ApplicationEventPublisher events;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate writeTx;
+    private final Interval interval;
+    private final int premake;
+    private final Period retention;
+    private final RetentionAction retentionAction;
+    /** 内容を圧縮・行外格納する行の大きさ（toast_tuple_target） */
+    private final int toastTupleTarget;
+
+    public NoticePartitionManager(JdbcTemplate jdbc,
+                                  ApplicationEventPublisher events,
+                                  EntityManagerFactory entityManagerFactory,
+                                  PlatformTransactionManager txManager,
+                                  @Value("${notice.partition.interval:year}") String interval,
+                                  @Value("${notice.partition.premake:2}") int premake,
+                                  @Value("${notice.partition.retention:0d}") Period retention,
+                                  @Value("${notice.partition.retention-action:detach}") String retentionAction,
+                                  @Value("${notice.content.compression-threshold:512B}") DataSize compressionThreshold) {
+        if (premake < 0) {
+            throw new IllegalArgumentException("notice.partition.premake must not be negative: " + premake);
+        }
+        if (retention.isNegative()) {
+            throw new IllegalArgumentException("notice.partition.retention must not be negative: " + retention);
+        }
+        // PostgreSQLのtoast_tuple_targetに指定できる範囲
+        if (compressionThreshold.toBytes() < 128 || compressionThreshold.toBytes() > 8160) {
+            throw new IllegalArgumentException(
+                    "notice.content.compression-threshold must be between 128B and 8160B: " + compressionThreshold);
+        }
+        this.jdbc = jdbc;
+        this.events = events;
+        this.entityManagerFactory = entityManagerFactory;
+        this.writeTx = new TransactionTemplate(txManager);
+        this.interval = Interval.valueOf(interval.trim().toUpperCase(Locale.ROOT));
+        this.premake = premake;
+        this.retention = retention;
+        this.retentionAction = RetentionAction.valueOf(retentionAction.trim().toUpperCase(Locale.ROOT));
+        this.toastTupleTarget = (int) compressionThreshold.toBytes();
+    }
+
+    /**
+     * 起動時と毎日定刻にパーティションを整備
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${notice.partition.cron:0 30 3 * * *}")
+    public void maintain() {
+        maintain(LocalDate.now());
+    }
+
+    /**
+     * 基準日からパーティションを整備
+     * @param today 基準日
+     */
+    void maintain(LocalDate today) {
+        if (!isPartitioned()) {
+            log.debug("{} is not partitioned, skipping partition maintenance", TABLE);
+            return;
+        }
+        createFuturePartitions(today);
+        if (!retention.isZero()) {
+            removeExpiredPartitions(today.minus(retention));
+        }
+        applyCompressionThreshold();
+    }
+
+    /**
+     * 圧縮の閾値が設定値と異なるパーティション（作成直後・設定変更後）に閾値を設定
+     * 設定は以降に書き込まれた行から適用される
+     */
+    private void applyCompressionThreshold() {
+        String option = "toast_tuple_target=" + toastTupleTarget;
+        List<String> targets = jdbc.queryForList("SELECT c.relname FROM pg_inherits i"
+                + " JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)"
+                + " AND NOT COALESCE(c.reloptions, '{}') @> ARRAY[?]", String.class, TABLE, option);
+        for (String name : targets) {
+            try {
+                jdbc.execute("ALTER TABLE " + name + " SET (" + option + ")");
+                log.info("Set {} on partition {}", option, name);
+            } catch (DataAccessException ex) {
+                log.warn("Failed to set {} on partition {}: {}", option, name, ex.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * 基準日の期間から先のpremake期間分のパーティションを作成
+     * 既存のパーティションと範囲が重なる期間は作成しない（年単位から月単位へ変更した場合など）
+     */
+    private void createFuturePartitions(LocalDate today) {
+        List<Partition> existing = partitions();
+        LocalDate from = interval.startOf(today);
+        for (int i = 0; i <= premake; i++, from = from.plus(interval.length)) {
+            LocalDate to = from.plus(interval.length);
+            LocalDate start = from;
+            if (existing.stream().anyMatch(p -> p.overlaps(start, to))) {
+                continue;
+            }
+            String name = TABLE + "_" + interval.suffix.format(from);
+            try {
+                jdbc.execute("CREATE TABLE " + name + " PARTITION OF " + TABLE
+                        + " (PRIMARY KEY (id)) FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+                log.info("Created partition {} for post_date [{}, {})", name, from, to);
+            } catch (DataAccessException ex) {
+                // デフォルトパーティションに同じ期間の行がある場合など。行を移動してから再実行する必要がある
+                log.warn("Failed to create partition {} for post_date [{}, {}): {}",
+                        name, from, to, ex.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * 期間の終了日が基準日以前のパーティションを切り離す、または削除
+     * 切り離したお知らせはキャッシュ・検索インデックスから除くため、一括変更イベントを発行する
+     */
+    private void removeExpiredPartitions(LocalDate cutoff) {
+        for (Partition partition : partitions()) {
+            if (partition.to().isAfter(cutoff)) {
+                continue;
+            }
+            String sql = retentionAction == RetentionAction.DROP
+                    ? "DROP TABLE " + partition.name()
+                    : "ALTER TABLE " + TABLE + " DETACH PARTITION " + partition.name();
+            try {
+                writeTx.executeWithoutResult(status -> {
+                    jdbc.execute(sql);
+                    events.publishEvent(NoticeChangedEvent.bulk());
+                });
+                log.info("{} partition {} for post_date [{}, {})",
+                        retentionAction == RetentionAction.DROP ? "Dropped" : "Detached",
+                        partition.name(), partition.from(), partition.to());
+            } catch (DataAccessException ex) {
+                log.warn("Failed to remove partition {}: {}", partition.name(), ex.getMostSpecificCause().getMessage());
+                continue;
+            }
+            // 一括変更はHibernateが対象を特定できないため、第2レベルキャッシュのお知らせを破棄する
+            entityManagerFactory.getCache().evict(Notice.class);
+        }
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbc.queryForObject(
+                "SELECT COALESCE((SELECT relkind = 'p' FROM pg_class WHERE oid = to_regclass(?)), false)",
+                Boolean.class, TABLE));
+    }
+
+    /**
+     * 期間指定のパーティション一覧（開始日順、デフォルトパーティションを除く）
+     */
+    private List<Partition> partitions() {
+        return jdbc.query("SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i"
+                        + " JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)",
+                        (rs, rowNum) -> {
+                            Matcher m = BOUND.matcher(rs.getString(2));
+                            return m.matches()
+                                    ? new Partition(rs.getString(1), LocalDate.parse(m.group(1)), LocalDate.parse(m.group(2)))
+                                    : null;
+                        }, TABLE)
+                .stream()
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(Partition::from))
+                .toList();
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.todo.service;
+
+import com.example.todo.domain.NoticeSummary;
+import com.example.todo.repository.NoticeSearchFunctions;
+import com.example.todo.repository.NoticeSearchQuery;
+import com.example.todo.service.query.NoticeCursor;
+import com.example.todo.service.query.NoticeSearchCondition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * お知らせ検索のクエリを組み立てるコンポーネント
+ * JPQLは指定された項目の組み合わせ・シーク条件の種類・取得項目・並び順（クエリの形）のみで決まり、
+ * 検索条件の値はすべてパラメータで渡す。形ごとに同じ文字列となるため、HibernateのクエリプランキャッシュとJDBCドライバの
+ * プリペアドステートメントキャッシュで解析結果が再利用される。組み立てたJPQLも形ごとにキャッシュする
+ * <p>
+ * 未指定の項目を「:値 IS NULL OR 条件」で無効化する単一のクエリにはしない。PostgreSQLの汎用プランでは
+ * 項目の有無を判断できず、インデックスやパーティションの絞り込みが効かなくなるため、組み合わせごとに別のクエリとする
+ * （組み合わせの数は検索条件の項目数で上限が決まる）
+ * <p>
+ * メトリクス
+ * <ul>
+ *   <li>notice.search.query.compile: クエリの取得回数（result=hit:キャッシュ済み, miss:組み立て）</li>
+ *   <li>notice.search.query.shapes: キャッシュ済みのクエリの形の数</li>
+ * </ul>
+ */
+@Component
+public class NoticeSearchQueryCompiler {
+
+    /** キャッシュするクエリの形の上限（並び順の指定で形が想定外に増えた場合は組み立てのみ行う） */
+    private static final int MAX_SHAPES = 1024;
+
+    /** 並び順に指定できる属性 */
+    private static final Set<String> SORTABLE = Set.of("id", "title", "categoryCode", "postDate", "startDate", "endDate");
+
+    private static final String SUMMARY_SELECT = "select new " + NoticeSummary.class.getName()
+            + "(n.id, n.title, n.categoryCode, n.postDate, n.startDate, n.endDate)";
+
+    /** 件数推定のSQLで検索するテーブル（Notice, NoticeWithArchiveのテーブル） */
+    private static final String NOTICE_TABLE = "t_notice";
+    private static final String NOTICE_WITH_ARCHIVE_TABLE = "v_notice_with_archive";
+
+    /**
+     * 検索条件の項目と条件式（定義順はNoticeMetricsのpredicatesタグと同じ）
+     * 一覧検索のJPQLと件数推定（NoticeCountEstimator）のSQLは、いずれもこの表から組み立てる
+     * 条件を追加・変更する場合は両方の式をここで揃えること（パラメータ名は共通）
+     */
+    private enum Field {
+        /** タイトルの部分一致（大文字小文字区別なし） */
+        TITLE("title", c -> isSet(c.title()) ? "%" + c.title().toLowerCase() + "%" : null,
+                "lower(n.title) like :title", "lower(title) LIKE :title"),
+        CATEGORY("category", c -> isSet(c.categoryCode()) ? c.categoryCode() : null,
+                "n.categoryCode = :category", "category_cd = :category"),
+        POST_DATE("postDate", NoticeSearchCondition::postDate,
+                "n.postDate = :postDate", "post_date = :postDate"),
+        EFFECTIVE_FROM("effectiveFrom", NoticeSearchCondition::effectiveFrom,
+                "n.startDate >= :effectiveFrom", "start_date >= :effectiveFrom"),
+        EFFECTIVE_TO("effectiveTo", NoticeSearchCondition::effectiveTo,
+                "n.endDate <= :effectiveTo", "end_date <= :effectiveTo"),
+        KEYWORD("keyword", c -> isSet(c.keyword()) ? c.keyword().trim() : null,
+                NoticeSearchFunctions.FTS_MATCH + "(n.searchVector, :keyword)",
+                sql(NoticeSearchFunctions.FTS_MATCH_SQL, "search_vector", ":keyword")),
+        /** daterangeのGiSTインデックスで検索できるよう区間の包含判定とする（終了日未設定は無期限） */
+        EFFECTIVE_ON("effectiveOn", NoticeSearchCondition::effectiveOn,
+                NoticeSearchFunctions.EFFECTIVE_ON + "(n.startDate, n.endDate, :effectiveOn)",
+                sql(NoticeSearchFunctions.EFFECTIVE_ON_SQL, "start_date", "end_date", ":effectiveOn"));
+
+        final int bit = 1 << ordinal();
+        final String parameter;
+        /** パラメータの値（項目が指定されていない場合null） */
+        final Function<NoticeSearchCondition, Object> value;
+        final String jpql;
+        final String sql;
+
+        Field(String parameter, Function<NoticeSearchCondition, Object> value, String jpql, String sql) {
+            this.parameter = parameter;
+            this.value = value;
+            this.jpql = jpql;
+            this.sql = sql;
+        }
+    }
+
+    /** アーカイブ済みを含むかのビット（検索条件の項目の次） */
+    private static final int ARCHIVED = 1 << Field.values().length;
+
+    /**
+     * 取得項目
+     */
+    enum Projection {
+        /** 一覧表示項目（NoticeSummary） */
+        SUMMARY,
+        /** 件数 */
+        COUNT,
+        /** ID */
+        ID,
+        /** エンティティ */
+        ENTITY
+    }
+
+    /**
+     * キーセットのシーク条件の種類（基準行の掲載日が未設定の場合は条件が異なる）
+     */
+    enum Seek {
+        NONE, AFTER, AFTER_NULL_DATE, BEFORE, BEFORE_NULL_DATE
+    }
+
+    /**
+     * クエリの形
+     * @param fields 指定項目のビット集合
+     * @param seek シーク条件の種類
+     * @param projection 取得項目
+     * @param sort 並び順
+     */
+    private record Shape(int fields, Seek seek, Projection projection, Sort sort) {
+        boolean has(int field) {
+            return (fields & field) != 0;
+        }
+
+        boolean has(Field field) {
+            return has(field.bit);
+        }
+    }
+
+    private final Map<Shape, String> cache = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public NoticeSearchQueryCompiler(MeterRegistry registry) {
+        this.hits = Counter.builder("notice.search.query.compile")
+                .description("Notice search queries taken from the compiled query cache")
+                .tag("result", "hit")
+                .register(registry);
+        this.misses = Counter.builder("notice.search.query.compile")
+                .description("Notice search queries taken from the compiled query cache")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("notice.search.query.shapes", cache, Map::size)
+                .description("Distinct notice search query shapes compiled")
+                .register(registry);
+    }
+
+    /**
+     * 一覧表示項目を取得するクエリ
+     * キーワード検索の場合は関連度の降順を並び順の先頭とする
+     * @param condition 検索条件
+     * @param cursor キーセットの基準行（シークしない場合null）
+     * @param sort 並び順
+     */
+    public NoticeSearchQuery summaries(NoticeSearchCondition condition, NoticeCursor cursor, Sort sort) {
+        return compile(condition, cursor, Projection.SUMMARY, sort);
+    }
+
+    /**
+     * 件数を取得するクエリ
+     * @param condition 検索条件
+     */
+    public NoticeSearchQuery count(NoticeSearchCondition condition) {
+        return compile(condition, null, Projection.COUNT, Sort.unsorted());
+    }
+
+    /**
+     * 件数推定のためにEXPLAINで実行計画を取得するSQL（名前付きパラメータ）
+     * 条件式は一覧検索のJPQLと同じ表から組み立て、パラメータはcount(condition)と共通
+     * @param condition 検索条件
+     */
+    public String estimateSql(NoticeSearchCondition condition) {
+        StringBuilder sql = new StringBuilder("SELECT 1 FROM ")
+                .append(condition.includeArchived() ? NOTICE_WITH_ARCHIVE_TABLE : NOTICE_TABLE);
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        for (Field field : Field.values()) {
+            if (field.value.apply(condition) != null) {
+                where.add(field.sql);
+            }
+        }
+        return sql.append(where).toString();
+    }
+
+    /**
+     * IDを取得するクエリ（並び順は不定、削除用のためアーカイブ済みのお知らせは対象外）
+     * @param condition 検索条件
+     */
+    public NoticeSearchQuery ids(NoticeSearchCondition condition) {
+        return compile(condition, null, Projection.ID, Sort.unsorted());
+    }
+
+    /**
+     * エンティティを取得するクエリ
+     * アーカイブ済みを含む場合はNoticeWithArchiveを取得する
+     * @param condition 検索条件
+     * @param sort 並び順
+     */
+    public NoticeSearchQuery rows(NoticeSearchCondition condition, Sort sort) {
+        return compile(condition, null, Projection.ENTITY, sort);
+    }
+
+    /**
+     * 検索条件からクエリの形とパラメータを求め、形に対応するJPQLと組み合わせる
+     * マイクロベンチマーク（src/jmh）から呼び出すためパッケージプライベート
+     */
+    NoticeSearchQuery compile(NoticeSearchCondition condition, NoticeCursor cursor, Projection projection, Sort sort) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        int fields = 0;
+        for (Field field : Field.values()) {
+            Object value = field.value.apply(condition);
+            if (value != null) {
+                fields |= field.bit;
+                parameters.put(field.parameter, value);
+            }
+        }
+        if (condition.includeArchived() && projection != Projection.ID) {
+            fields |= ARCHIVED;
+        }
+        Seek seek = Seek.NONE;
+        if (cursor != null) {
+            if (cursor.postDate() != null) {
+                parameters.put("cursorDate", cursor.postDate());
+            }
+            parameters.put("cursorId", cursor.id());
+            seek = cursor.backward()
+                    ? (cursor.postDate() == null ? Seek.BEFORE_NULL_DATE : Seek.BEFORE)
+                    : (cursor.postDate() == null ? Seek.AFTER_NULL_DATE : Seek.AFTER);
+        }
+        return new NoticeSearchQuery(jpql(new Shape(fields, seek, projection, sort)), parameters);
+    }
+
+    private String jpql(Shape shape) {
+        String jpql = cache.get(shape);
+        if (jpql != null) {
+            hits.increment();
+            return jpql;
+        }
+        misses.increment();
+        jpql = build(shape);
+        if (cache.size() < MAX_SHAPES) {
+            cache.putIfAbsent(shape, jpql);
+        }
+        return jpql;
+    }
+
+    /**
+     * クエリの形からJPQLを組み立て
+     * 掲載日の条件はパーティションキーのため、該当する期間のパーティションのみ検索する
+     */
+    private static String build(Shape shape) {
+        StringBuilder jpql = new StringBuilder(switch (shape.projection()) {
+            case SUMMARY -> SUMMARY_SELECT;
+            case COUNT -> "select count(n)";
+            case ID -> "select n.id";
+            case ENTITY -> "select n";
+        });
+        jpql.append(" from ").append(shape.has(ARCHIVED) ? "NoticeWithArchive" : "Notice").append(" n");
+
+        StringJoiner where = new StringJoiner(" and ", " where ", "").setEmptyValue("");
+        for (Field field : Field.values()) {
+            if (shape.has(field)) {
+                where.add(field.jpql);
+            }
+        }
+        // キーセットのシーク条件（PostgreSQLの降順ソートはNULLを先頭に並べるため、掲載日未設定の行も順序どおりに扱う）
+        // 掲載日の範囲条件のため、次ページ方向では基準日より後の期間のパーティションを読まない（V6）
+        switch (shape.seek()) {
+            case AFTER -> where.add("(n.postDate < :cursorDate or (n.postDate = :cursorDate and n.id < :cursorId))");
+            case AFTER_NULL_DATE -> where.add("((n.postDate is null and n.id < :cursorId) or n.postDate is not null)");
+            case BEFORE -> where.add("(n.postDate > :cursorDate or (n.postDate = :cursorDate and n.id > :cursorId)"
+                    + " or n.postDate is null)");
+            case BEFORE_NULL_DATE -> where.add("(n.postDate is null and n.id > :cursorId)");
+            case NONE -> {
+            }
+        }
+        jpql.append(where);
+
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "").setEmptyValue("");
+        boolean ordered = shape.projection() == Projection.SUMMARY || shape.projection() == Projection.ENTITY;
+        if (ordered && shape.has(Field.KEYWORD)) {
+            orderBy.add(NoticeSearchFunctions.FTS_RANK + "(n.searchVector, :keyword) desc");
+        }
+        for (Sort.Order order : shape.sort()) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            }
+            String nulls = switch (order.getNullHandling()) {
+                case NULLS_FIRST -> " nulls first";
+                case NULLS_LAST -> " nulls last";
+                case NATIVE -> "";
+            };
+            orderBy.add("n." + order.getProperty() + (order.isAscending() ? " asc" : " desc") + nulls);
+        }
+        jpql.append(orderBy);
+        return jpql.toString();
+    }
+
+    private static boolean isSet(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * 関数のSQL（?1, ?2...）に引数を埋め込む
+     */
+    private static String sql(String pattern, String... args) {
+        String sql = pattern;
+        for (int i = 0; i < args.length; i++) {
+            sql = sql.replace("?" + (i + 1), args[i]);
+        }
+        return sql;
+    }
+}
@@ -1,19 +1,45 @@
 package com.example.todo.service;
 
 import com.example.todo.domain.Notice;
+import com.example.todo.domain.NoticeSummary;
+import com.example.todo.domain.NoticeWithArchive;
 import com.example.todo.repository.NoticeRepository;
+import com.example.todo.repository.NoticeSearchQuery;
+import com.example.todo.service.event.NoticeChangedEvent;
+import com.example.todo.service.index.NoticeSearchIndex;
+import com.example.todo.service.query.NoticeCursor;
+import com.example.todo.service.query.NoticeKeysetPage;
 import com.example.todo.service.query.NoticeSearchCondition;
-import jakarta.persistence.criteria.Predicate;
+import com.example.todo.service.query.NoticeTotal;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDate;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * お知らせ管理のビジネスロジックを提供するサービスクラス
@@ -22,83 +48,285 @@ import java.util.List;
 @Service
 @Transactional(readOnly = true)
 public class NoticeService {
+    /** 一覧の並び順（掲載日降順, ID降順）。キーセットページングのキーと一致させること */
+    private static final Sort LIST_ORDER = Sort.by(Sort.Direction.DESC, "postDate", "id");
+
+    /** エクスポート時のJDBCフェッチサイズ */
+    private static final int EXPORT_FETCH_SIZE = 500;
+
     private final NoticeRepository repo;
+    private final NoticeSearchQueryCompiler queries;
+    private final NoticeTotalCounter totalCounter;
+    private final NoticeMetrics metrics;
+    private final ApplicationEventPublisher events;
+    private final NoticeEntityCacheLock cacheLock;
+    /** インメモリ検索インデックス（notice.search.engine=index の場合のみ存在） */
+    private final ObjectProvider<NoticeSearchIndex> searchIndex;
+    /** 条件一致削除のバッチごとのトランザクション */
+    private final TransactionTemplate writeTx;
+    /** 1文で削除する最大件数 */
+    private final int deleteBatchSize;
 
-    public NoticeService(NoticeRepository repo) {
+    public NoticeService(NoticeRepository repo, NoticeSearchQueryCompiler queries,
+                         NoticeTotalCounter totalCounter, NoticeMetrics metrics,
+                         ApplicationEventPublisher events, NoticeEntityCacheLock cacheLock,
+                         ObjectProvider<NoticeSearchIndex> searchIndex,
+                         PlatformTransactionManager txManager,
+                         @Value("${notice.delete.batch-size:500}") int deleteBatchSize) {
+        if (deleteBatchSize < 1) {
+            throw new IllegalArgumentException("notice.delete.batch-size must be positive: " + deleteBatchSize);
+        }
         this.repo = repo;
+        this.queries = queries;
+        this.totalCounter = totalCounter;
+        this.metrics = metrics;
+        this.events = events;
+        this.cacheLock = cacheLock;
+        this.searchIndex = searchIndex;
+        this.writeTx = new TransactionTemplate(txManager);
+        this.deleteBatchSize = deleteBatchSize;
     }
 
     /**
      * お知らせを検索
+     * 一覧表示項目のみを取得し、内容（content）は読み込まない（内容はfindByIdで取得すること）
      * @param condition 検索条件
      * @param pageable ページング情報
      * @return 検索結果ページ
      */
-    public Page<Notice> search(NoticeSearchCondition condition, Pageable pageable) {
-        return repo.findAll(buildSpecification(condition), pageable);
+    public Page<NoticeSummary> search(NoticeSearchCondition condition, Pageable pageable) {
+        NoticeSearchIndex index = indexFor(condition, pageable.getSort());
+        return metrics.recordSearch("page", engineName(index), condition, () -> {
+            // キーワード検索の関連度順を維持するためスライス取得を経由し、件数は必要な場合のみ取得
+            Slice<NoticeSummary> slice = findSlice(index, condition, pageable);
+            return PageableExecutionUtils.getPage(slice.getContent(), pageable, () -> count(condition));
+        }, Page::getNumberOfElements);
+    }
+
+    /**
+     * お知らせを件数取得なしで検索
+     * ページサイズ+1件を取得して次ページの有無を判定するため、COUNT(*)クエリを発行しない
+     * @param condition 検索条件
+     * @param pageable ページング情報
+     * @return 検索結果スライス
+     */
+    public Slice<NoticeSummary> searchSlice(NoticeSearchCondition condition, Pageable pageable) {
+        NoticeSearchIndex index = indexFor(condition, pageable.getSort());
+        return metrics.recordSearch("slice", engineName(index), condition,
+                () -> findSlice(index, condition, pageable), Slice::getNumberOfElements);
+    }
+
+    private Slice<NoticeSummary> findSlice(NoticeSearchIndex index, NoticeSearchCondition condition,
+                                           Pageable pageable) {
+        if (index != null) {
+            return index.findSlice(condition, pageable);
+        }
+        return repo.findSummarySlice(queries.summaries(condition, null, pageable.getSort()), pageable);
+    }
+
+    /**
+     * 検索結果の総件数を取得
+     * 件数の取得方式（正確・キャッシュ・推定・省略）は設定に従う
+     * @param condition 検索条件
+     * @param seen 先頭から現在ページまでに含まれる件数
+     * @param hasMore 現在ページ以降にも該当行があるか
+     * @return 総件数
+     */
+    public NoticeTotal total(NoticeSearchCondition condition, long seen, boolean hasMore) {
+        NoticeSearchIndex index = indexFor(condition, LIST_ORDER);
+        return index != null
+                ? NoticeTotal.exact(count(condition))
+                : totalCounter.resolve(condition, () -> count(condition), seen, hasMore);
     }
 
     /**
-     * 検索条件からJPA Specificationを構築
+     * お知らせをキーセット方式で検索
+     * OFFSETを使わず基準行のキーから続きを取得するため、深いページでも先頭ページと同じコストで取得できる
+     * キーワード検索は関連度順となりキーと並び順が一致しないため対象外（searchSliceを使用すること）
+     * @param condition 検索条件
+     * @param cursor 基準行のカーソル（先頭ページの場合null）
+     * @param size ページサイズ
+     * @return 検索結果と前後ページのカーソル
      */
-    private Specification<Notice> buildSpecification(NoticeSearchCondition condition) {
-        return (root, query, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
-            addLikePredicate(predicates, condition.title(), root.get("title"), cb);
-            addEqualsPredicate(predicates, condition.categoryCode(), root.get("categoryCode"), cb);
-            addEqualsPredicate(predicates, condition.postDate(), root.get("postDate"), cb);
-            addDateRangePredicate(predicates, condition.effectiveFrom(), root.get("startDate"), cb, true);
-            addDateRangePredicate(predicates, condition.effectiveTo(), root.get("endDate"), cb, false);
-            return cb.and(predicates.toArray(new Predicate[0]));
-        };
+    public NoticeKeysetPage searchKeyset(NoticeSearchCondition condition, NoticeCursor cursor, int size) {
+        NoticeSearchIndex index = indexFor(condition, LIST_ORDER);
+        return metrics.recordSearch("keyset", engineName(index), condition,
+                () -> seek(index, condition, cursor, size), page -> page.content().size());
+    }
+
+    private NoticeKeysetPage seek(NoticeSearchIndex index, NoticeSearchCondition condition,
+                                  NoticeCursor cursor, int size) {
+        boolean backward = cursor != null && cursor.backward();
+        Sort order = backward ? LIST_ORDER.reverse() : LIST_ORDER;
+        // 1件多く取得して、取得方向にさらに行があるかを判定する
+        List<NoticeSummary> rows = new ArrayList<>(index != null
+                ? index.seek(condition, cursor, size + 1)
+                : repo.findSummaries(queries.summaries(condition, cursor, order), size + 1));
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        if (backward) {
+            Collections.reverse(rows);
+        }
+        boolean hasPrevious = backward ? hasMore : cursor != null;
+        boolean hasNext = backward || hasMore;
+        if (rows.isEmpty()) {
+            return new NoticeKeysetPage(rows, size, null, null);
+        }
+        NoticeSummary first = rows.get(0);
+        NoticeSummary last = rows.get(rows.size() - 1);
+        return new NoticeKeysetPage(rows, size,
+                hasPrevious ? NoticeCursor.before(first.postDate(), first.id()).toToken() : null,
+                hasNext ? NoticeCursor.after(last.postDate(), last.id()).toToken() : null);
     }
 
     /**
-     * LIKE検索条件を追加（部分一致、大文字小文字区別なし）
+     * 検索条件に一致するお知らせの件数を取得
+     * @param condition 検索条件
+     * @return 件数
+     */
+    public long count(NoticeSearchCondition condition) {
+        NoticeSearchIndex index = indexFor(condition, LIST_ORDER);
+        return metrics.recordCount(engineName(index), () -> {
+            if (index != null) {
+                return index.count(condition);
+            }
+            return repo.countMatching(queries.count(condition));
+        });
+    }
+
+    /**
+     * 検索条件に一致するお知らせを内容を含めて順に処理（エクスポート用）
+     * サーバー側カーソルで少しずつ読み込むため、件数によらずメモリ使用量は一定となる
+     * @param condition 検索条件
+     * @param action 1件ごとの処理（トランザクション内で呼び出される）
+     * @return 処理件数
      */
-    private void addLikePredicate(List<Predicate> predicates, String value,
-                                   jakarta.persistence.criteria.Path<String> path,
-                                   jakarta.persistence.criteria.CriteriaBuilder cb) {
-        if (value != null && !value.isBlank()) {
-            predicates.add(cb.like(cb.lower(path), "%" + value.toLowerCase() + "%"));
+    public long forEachMatching(NoticeSearchCondition condition, Consumer<Notice> action) {
+        long count = 0;
+        NoticeSearchQuery query = queries.rows(condition, LIST_ORDER);
+        try (Stream<Notice> notices = condition.includeArchived()
+                ? repo.streamMatching(query, NoticeWithArchive.class, EXPORT_FETCH_SIZE).map(NoticeWithArchive::toNotice)
+                : repo.streamMatching(query, Notice.class, EXPORT_FETCH_SIZE)) {
+            Iterator<Notice> it = notices.iterator();
+            while (it.hasNext()) {
+                action.accept(it.next());
+                count++;
+            }
         }
+        return count;
     }
 
     /**
-     * 等価検索条件を追加
+     * 指定IDのうちアーカイブ済みのIDを取得
+     * アーカイブ済みのお知らせは更新・削除できないため、一覧での操作の制限と操作できなかった理由の判定に使用する
+     * @param ids お知らせID
+     * @return アーカイブ済みのID
      */
-    private <T> void addEqualsPredicate(List<Predicate> predicates, T value,
-                                        jakarta.persistence.criteria.Path<T> path,
-                                        jakarta.persistence.criteria.CriteriaBuilder cb) {
-        if (value != null) {
-            predicates.add(cb.equal(path, value));
+    public Set<Long> findArchivedIds(Collection<Long> ids) {
+        List<Long> targets = ids.stream().filter(Objects::nonNull).distinct().toList();
+        return targets.isEmpty() ? Set.of() : Set.copyOf(repo.findArchivedIds(targets));
+    }
+
+    /**
+     * 検索に使用できるインメモリインデックスを取得
+     * インデックスが無効・構築中、または一覧の並び順以外を指定された場合はnull（JPAで検索）
+     */
+    private NoticeSearchIndex indexFor(NoticeSearchCondition condition, Sort sort) {
+        NoticeSearchIndex index = searchIndex.getIfAvailable();
+        if (index == null || !(sort.isUnsorted() || LIST_ORDER.equals(sort))) {
+            return null;
         }
+        return index.supports(condition) ? index : null;
     }
 
     /**
-     * 日付範囲検索条件を追加
-     * @param isStart true:開始日以降, false:終了日以前
+     * 内容のハッシュ（DBのmd5(content)と同じ、UTF-8のバイト列のMD5を16進小文字で表したもの）
      */
-    private void addDateRangePredicate(List<Predicate> predicates, LocalDate date,
-                                       jakarta.persistence.criteria.Path<LocalDate> path,
-                                       jakarta.persistence.criteria.CriteriaBuilder cb,
-                                       boolean isStart) {
-        if (date != null) {
-            predicates.add(isStart
-                ? cb.greaterThanOrEqualTo(path, date)
-                : cb.lessThanOrEqualTo(path, date));
+    private static String contentHash(String content) {
+        if (content == null) {
+            return null;
+        }
+        try {
+            MessageDigest md5 = MessageDigest.getInstance("MD5");
+            return HexFormat.of().formatHex(md5.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 is not available", ex);
         }
     }
 
+    /**
+     * メトリクスのengineタグ
+     */
+    private static String engineName(NoticeSearchIndex index) {
+        return index != null ? "index" : "jpa";
+    }
+
     /**
      * お知らせを削除
+     * エンティティを読み込まずDELETE文で削除する
      * @param id お知らせID
      */
     @Transactional
     public void deleteById(Long id) {
         if (id != null) {
-            repo.deleteById(id);
+            metrics.recordOperation("delete", () -> deleteByIds(List.of(id)));
+        }
+    }
+
+    /**
+     * 指定IDのお知らせをまとめて削除
+     * エンティティを読み込まず、削除バッチ件数ごとのDELETE文で削除する
+     * アーカイブ済みのお知らせは削除しない（削除件数に含まない）
+     * @param ids お知らせID
+     * @return 削除件数
+     */
+    @Transactional
+    public long deleteByIds(Collection<Long> ids) {
+        List<Long> targets = ids.stream().filter(Objects::nonNull).distinct().toList();
+        long deleted = 0;
+        for (int from = 0; from < targets.size(); from += deleteBatchSize) {
+            List<Long> batch = targets.subList(from, Math.min(from + deleteBatchSize, targets.size()));
+            cacheLock.lockForDelete(batch);
+            deleted += repo.deleteByIds(batch);
+            events.publishEvent(NoticeChangedEvent.deleted(batch));
         }
+        return deleted;
+    }
+
+    /**
+     * 検索条件に一致するお知らせをすべて削除
+     * 削除バッチ件数ごとに対象IDの取得と削除を別トランザクションで繰り返すため、
+     * 大量に削除する場合も行ロックを長時間保持せず、対象行をメモリに読み込まない
+     * @param condition 検索条件（条件なしでの全件削除は不可）
+     * アーカイブ済みのお知らせは削除しない
+     * @return 削除件数
+     * @throws IllegalArgumentException 検索条件が指定されていない場合
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long deleteMatching(NoticeSearchCondition condition) {
+        if (condition.isEmpty()) {
+            throw new IllegalArgumentException("Search condition is required to delete notices");
+        }
+        NoticeSearchQuery query = queries.ids(condition);
+        long[] deleted = {0};
+        int found;
+        do {
+            // 取得したIDの一部が並行して削除済みでも削除件数はバッチ件数を下回るため、継続の判定は取得件数で行う
+            found = writeTx.execute(status -> {
+                List<Long> ids = repo.findIds(query, deleteBatchSize);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                cacheLock.lockForDelete(ids);
+                deleted[0] += repo.deleteByIds(ids);
+                events.publishEvent(NoticeChangedEvent.deleted(ids));
+                return ids.size();
+            });
+        } while (found == deleteBatchSize);
+        return deleted[0];
     }
 
     /**
@@ -108,10 +336,15 @@ public class NoticeService {
      */
     @Transactional
     public Notice create(Notice notice) {
-        LocalDateTime now = LocalDateTime.now();
-        notice.setCreatedAt(now);
-        notice.setUpdatedAt(now);
-        return repo.save(notice);
+        return metrics.recordOperation("create", () -> {
+            LocalDateTime now = LocalDateTime.now();
+            notice.setCreatedAt(now);
+            notice.setUpdatedAt(now);
+            // 処理時間にINSERTを含めるため、コミットを待たずに反映する
+            Notice saved = repo.saveAndFlush(notice);
+            events.publishEvent(NoticeChangedEvent.created(saved));
+            return saved;
+        });
     }
 
     /**
@@ -124,38 +357,45 @@ public class NoticeService {
         if (id == null) {
             throw new IllegalArgumentException("Notice id is required");
         }
-        return repo.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Notice not found: " + id));
+        return metrics.recordOperation("find", () -> repo.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Notice not found: " + id)));
     }
 
     /**
      * お知らせを更新
-     * @param notice 更新内容
-     * @return 更新されたお知らせ
-     * @throws IllegalArgumentException IDがnullまたは存在しない場合
+     * エンティティを読み込まず、バージョンが一致する場合のみUPDATE文1文で更新する
+     * @param notice 更新内容（IDと編集開始時点のバージョンを含むこと）
+     * @return 更新内容（バージョンと更新日時を更新後の値に変更したもの。作成日時は含まない）
+     * @throws IllegalArgumentException ID・バージョンがnull、またはIDが存在しない場合
+     * @throws ObjectOptimisticLockingFailureException 編集開始後に他で更新されていた場合
      */
     @Transactional
     public Notice update(Notice notice) {
         if (notice.getId() == null) {
             throw new IllegalArgumentException("Notice id is required");
         }
-        Notice existing = repo.findById(notice.getId())
-                .orElseThrow(() -> new IllegalArgumentException("Notice not found: " + notice.getId()));
-
-        updateNoticeFields(existing, notice);
-        existing.setUpdatedAt(LocalDateTime.now());
-        return repo.save(existing);
+        if (notice.getVersion() == null) {
+            throw new IllegalArgumentException("Notice version is required");
+        }
+        return metrics.recordOperation("update", () -> updateIfVersionMatches(notice));
     }
 
-    /**
-     * お知らせのフィールドを更新
-     */
-    private void updateNoticeFields(Notice target, Notice source) {
-        target.setTitle(source.getTitle());
-        target.setCategoryCode(source.getCategoryCode());
-        target.setPostDate(source.getPostDate());
-        target.setStartDate(source.getStartDate());
-        target.setEndDate(source.getEndDate());
-        target.setContent(source.getContent());
+    private Notice updateIfVersionMatches(Notice notice) {
+        LocalDateTime now = LocalDateTime.now();
+        cacheLock.lockForUpdate(notice.getId(), notice.getVersion());
+        int updated = repo.updateIfVersionMatches(notice.getId(), notice.getVersion(),
+                notice.getTitle(), notice.getCategoryCode(), notice.getPostDate(),
+                notice.getStartDate(), notice.getEndDate(), notice.getContent(), contentHash(notice.getContent()), now);
+        if (updated == 0) {
+            // 更新できなかった場合のみ、存在しないのか競合なのかを判定する
+            if (!repo.existsById(notice.getId())) {
+                throw new IllegalArgumentException("Notice not found: " + notice.getId());
+            }
+            throw new ObjectOptimisticLockingFailureException(Notice.class, notice.getId());
+        }
+        notice.setVersion(notice.getVersion() + 1);
+        notice.setUpdatedAt(now);
+        events.publishEvent(NoticeChangedEvent.updated(notice));
+        return notice;
     }
 }
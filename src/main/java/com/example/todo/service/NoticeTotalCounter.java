@@ -0,0 +1,120 @@
+package com.example.todo.service;
+
+import com.example.todo.service.event.NoticeChangedEvent;
+import com.example.todo.service.event.NoticeInvalidatedEvent;
+import com.example.todo.service.query.NoticeSearchCondition;
+import com.example.todo.service.query.NoticeTotal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 検索結果の総件数を解決するコンポーネント
+ * 設定（notice.search.count-mode）により件数の取得方法を切り替える
+ * <ul>
+ *   <li>exact: 毎回COUNT(*)を実行</li>
+ *   <li>cached: 正規化した検索条件ごとにCOUNT(*)の結果をキャッシュ</li>
+ *   <li>estimated: 実行計画の推定行数を使用</li>
+ *   <li>none: 件数を取得せず、取得済み件数の下限のみ表示</li>
+ * </ul>
+ * いずれの方式でも、最終ページまで取得済みの場合は取得件数から正確な件数を求める
+ */
+@Component
+public class NoticeTotalCounter {
+
+    /**
+     * 件数の取得方式
+     */
+    enum Mode {
+        EXACT,
+        CACHED,
+        ESTIMATED,
+        NONE
+    }
+
+    /**
+     * キャッシュ済み件数
+     */
+    private record CachedCount(long value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+
+    private final NoticeCountEstimator estimator;
+    private final Mode mode;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<NoticeSearchCondition, CachedCount> cache = new ConcurrentHashMap<>();
+
+    public NoticeTotalCounter(NoticeCountEstimator estimator,
+                              @Value("${notice.search.count-mode:exact}") String mode,
+                              @Value("${notice.search.count-cache-ttl:60s}") Duration ttl,
+                              @Value("${notice.search.count-cache-max-entries:1000}") int maxEntries) {
+        this.estimator = estimator;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 総件数を解決
+     * @param condition 検索条件
+     * @param exactCount 正確な件数を取得する処理（COUNT(*)）
+     * @param seen 先頭から現在ページまでに含まれる件数
+     * @param hasMore 現在ページ以降にも該当行があるか
+     * @return 総件数
+     */
+    public NoticeTotal resolve(NoticeSearchCondition condition, LongSupplier exactCount, long seen, boolean hasMore) {
+        if (!hasMore) {
+            return NoticeTotal.exact(seen);
+        }
+        return switch (mode) {
+            case EXACT -> NoticeTotal.exact(exactCount.getAsLong());
+            case CACHED -> NoticeTotal.exact(cachedCount(condition.normalized(), exactCount));
+            case ESTIMATED -> NoticeTotal.estimated(Math.max(estimator.estimate(condition), seen + 1));
+            case NONE -> NoticeTotal.atLeast(seen);
+        };
+    }
+
+    /**
+     * キャッシュから件数を取得（未登録・期限切れの場合はCOUNT(*)を実行して登録）
+     */
+    private long cachedCount(NoticeSearchCondition key, LongSupplier exactCount) {
+        long now = System.nanoTime();
+        CachedCount cached = cache.get(key);
+        if (cached != null && !cached.isExpired(now)) {
+            return cached.value();
+        }
+        long value = exactCount.getAsLong();
+        if (cache.size() >= maxEntries) {
+            // 上限到達時は全件破棄（検索条件の偏りが大きいため、LRU管理のコストに見合わない）
+            cache.clear();
+        }
+        cache.put(key, new CachedCount(value, now + ttlNanos));
+        return value;
+    }
+
+    /**
+     * お知らせ変更のコミット後にキャッシュ済み件数を破棄
+     */
+    @TransactionalEventListener
+    public void onNoticeChanged(NoticeChangedEvent event) {
+        cache.clear();
+    }
+
+    /**
+     * 他のノードでのお知らせ変更時にキャッシュ済み件数を破棄
+     */
+    @EventListener
+    public void onNoticeInvalidated(NoticeInvalidatedEvent event) {
+        cache.clear();
+    }
+}
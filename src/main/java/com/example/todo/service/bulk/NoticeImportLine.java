@@ -0,0 +1,26 @@
+package com.example.todo.service.bulk;
+
+import com.example.todo.domain.Notice;
+
+import java.util.List;
+
+/**
+ * 一括登録の入力1件
+ * @param lineNumber 入力ファイル上の行番号（1始まり）
+ * @param notice 登録するお知らせ（入力エラーの場合null）
+ * @param errors 入力エラーメッセージ（エラーがない場合は空）
+ */
+public record NoticeImportLine(long lineNumber, Notice notice, List<String> errors) {
+
+    public static NoticeImportLine valid(long lineNumber, Notice notice) {
+        return new NoticeImportLine(lineNumber, notice, List.of());
+    }
+
+    public static NoticeImportLine invalid(long lineNumber, List<String> errors) {
+        return new NoticeImportLine(lineNumber, null, List.copyOf(errors));
+    }
+
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.todo.service.bulk;
+
+import java.util.List;
+
+/**
+ * 一括登録の結果
+ * @param imported 登録件数
+ * @param rejected 入力エラーまたは登録失敗により登録しなかった件数
+ * @param errors 行ごとのエラー（件数が多い場合は先頭から上限件数まで）
+ * @param elapsedMillis 処理時間（ミリ秒）
+ */
+public record NoticeImportResult(long imported, long rejected, List<RowError> errors, long elapsedMillis) {
+
+    /**
+     * 1秒あたりの登録件数
+     */
+    public double rowsPerSecond() {
+        return elapsedMillis > 0 ? imported * 1000.0 / elapsedMillis : imported;
+    }
+
+    /**
+     * 行ごとのエラー
+     * @param lineNumber 入力ファイル上の行番号（1始まり）
+     * @param messages エラーメッセージ
+     */
+    public record RowError(long lineNumber, List<String> messages) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.todo.service.event;
+
+import com.example.todo.domain.Notice;
+
+import java.util.List;
+
+/**
+ * お知らせ変更イベント
+ * NoticeServiceの登録・更新・削除時、NoticeArchiverのアーカイブ時に発行し、コミット後にキャッシュ破棄などへ利用する
+ * 取り込み・一括削除などでは、1バッチの変更を1つのイベントにまとめて発行する
+ * @param type 変更種別
+ * @param ids 変更されたお知らせID（一括変更の場合空）
+ * @param notices 変更後のお知らせ（idsと同じ順序、削除・アーカイブ・一括変更の場合空）
+ */
+public record NoticeChangedEvent(Type type, List<Long> ids, List<Notice> notices) {
+
+    public NoticeChangedEvent {
+        ids = List.copyOf(ids);
+        notices = List.copyOf(notices);
+    }
+
+    public static NoticeChangedEvent created(Notice notice) {
+        return created(List.of(notice));
+    }
+
+    public static NoticeChangedEvent created(List<Notice> notices) {
+        return new NoticeChangedEvent(Type.CREATED, notices.stream().map(Notice::getId).toList(), notices);
+    }
+
+    public static NoticeChangedEvent updated(Notice notice) {
+        return new NoticeChangedEvent(Type.UPDATED, List.of(notice.getId()), List.of(notice));
+    }
+
+    public static NoticeChangedEvent deleted(Long id) {
+        return deleted(List.of(id));
+    }
+
+    public static NoticeChangedEvent deleted(List<Long> ids) {
+        return new NoticeChangedEvent(Type.DELETED, ids, List.of());
+    }
+
+    public static NoticeChangedEvent archived(List<Long> ids) {
+        return new NoticeChangedEvent(Type.ARCHIVED, ids, List.of());
+    }
+
+    public static NoticeChangedEvent bulk() {
+        return new NoticeChangedEvent(Type.BULK, List.of(), List.of());
+    }
+
+    /**
+     * 変更件数（一括変更の場合0）
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * 変更種別
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        /** 適用終了によるアーカイブへの移動（t_noticeからは除かれるが、アーカイブを含む検索では引き続き参照できる） */
+        ARCHIVED,
+        /** 対象を特定しない一括変更（パーティションの切り離しなど） */
+        BULK
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.todo.service.event;
+
+import java.util.Set;
+
+/**
+ * 他のノードでのお知らせ変更によるキャッシュ破棄イベント
+ * NoticeInvalidationBusが他のノードからの通知を受け取ったときに発行する（トランザクション外）
+ * @param ids 変更されたお知らせID（対象を特定できない場合null）
+ */
+public record NoticeInvalidatedEvent(Set<Long> ids) {
+
+    public static NoticeInvalidatedEvent of(Set<Long> ids) {
+        return new NoticeInvalidatedEvent(Set.copyOf(ids));
+    }
+
+    /**
+     * 全件破棄（一括変更や、再接続で通知を取りこぼした可能性がある場合）
+     */
+    public static NoticeInvalidatedEvent all() {
+        return new NoticeInvalidatedEvent(null);
+    }
+
+    public boolean isAll() {
+        return ids == null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.todo.service.feed;
+
+import java.time.LocalDateTime;
+
+/**
+ * 変更フィードの1件
+ * @param offset オフセット（昇順、連番とは限らない）
+ * @param type 変更種別（CREATED, UPDATED, DELETED, ARCHIVED, BULK）
+ * @param noticeId お知らせID（一括変更の場合null）
+ * @param payload 変更後のお知らせ（JSON、削除・一括変更の場合null）
+ * @param occurredAt 変更したトランザクションの開始日時
+ */
+public record NoticeChange(long offset, String type, Long noticeId, String payload, LocalDateTime occurredAt) {
+}
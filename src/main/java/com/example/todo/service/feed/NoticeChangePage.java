@@ -0,0 +1,11 @@
+package com.example.todo.service.feed;
+
+import java.util.List;
+
+/**
+ * 変更フィードの読み込み結果
+ * @param changes 変更（オフセット順）
+ * @param nextOffset 次回の読み込みで指定するオフセット（変更がない場合は指定されたオフセットのまま）
+ */
+public record NoticeChangePage(List<NoticeChange> changes, long nextOffset) {
+}
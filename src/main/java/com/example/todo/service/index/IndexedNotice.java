@@ -0,0 +1,71 @@
+package com.example.todo.service.index;
+
+import com.example.todo.domain.Notice;
+import com.example.todo.domain.NoticeSummary;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * インデックスに保持するお知らせの検索・一覧表示用項目
+ * @param id お知らせID
+ * @param title タイトル
+ * @param lowerTitle 部分一致検索用の小文字タイトル
+ * @param categoryCode お知らせ区分コード
+ * @param postDate 掲載日
+ * @param startDate 適用開始日
+ * @param endDate 適用終了日
+ */
+record IndexedNotice(
+        long id,
+        String title,
+        String lowerTitle,
+        String categoryCode,
+        LocalDate postDate,
+        LocalDate startDate,
+        LocalDate endDate
+) {
+    /** 一覧の並び順（掲載日降順・NULLを先頭, ID降順）。PostgreSQLの ORDER BY post_date DESC, id DESC と一致 */
+    static final Comparator<IndexedNotice> LIST_ORDER = Comparator
+            .comparing(IndexedNotice::postDate, Comparator.nullsFirst(Comparator.<LocalDate>reverseOrder()))
+            .thenComparing(Comparator.comparingLong(IndexedNotice::id).reversed());
+
+    static IndexedNotice of(Notice notice) {
+        return of(NoticeSummary.of(notice));
+    }
+
+    static IndexedNotice of(NoticeSummary summary) {
+        String title = summary.title();
+        return new IndexedNotice(
+                summary.id(),
+                title,
+                title != null ? title.toLowerCase(Locale.ROOT) : "",
+                summary.categoryCode(),
+                summary.postDate(),
+                summary.startDate(),
+                summary.endDate()
+        );
+    }
+
+    /**
+     * 指定日が適用期間内かチェック
+     * DBの notice_effective_period() と同じく、終了日未設定は無期限、開始日より前の終了日は開始日とみなす
+     */
+    boolean isEffectiveOn(LocalDate date) {
+        if (startDate == null || date.isBefore(startDate)) {
+            return false;
+        }
+        if (endDate == null) {
+            return true;
+        }
+        return endDate.isBefore(startDate) ? date.equals(startDate) : !date.isAfter(endDate);
+    }
+
+    /**
+     * 一覧表示用の射影に変換
+     */
+    NoticeSummary toSummary() {
+        return new NoticeSummary(id, title, categoryCode, postDate, startDate, endDate);
+    }
+}
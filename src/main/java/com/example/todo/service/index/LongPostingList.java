@@ -0,0 +1,132 @@
+package com.example.todo.service.index;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * お知らせIDの昇順ポスティングリスト
+ * ボックス化を避けるためlong配列で保持する（スレッドセーフではないため呼び出し側でロックすること）
+ */
+final class LongPostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids;
+    private int size;
+
+    LongPostingList() {
+        this.ids = new long[INITIAL_CAPACITY];
+    }
+
+    private LongPostingList(long[] ids, int size) {
+        this.ids = ids;
+        this.size = size;
+    }
+
+    /**
+     * 未ソートのID配列から一括生成（1件ずつ追加するより高速）
+     * @param ids ID配列（このリストが所有するため呼び出し側で再利用しないこと）
+     * @param size 有効な要素数
+     */
+    static LongPostingList of(long[] ids, int size) {
+        Arrays.sort(ids, 0, size);
+        return new LongPostingList(size == 0 ? new long[INITIAL_CAPACITY] : ids, size);
+    }
+
+    /**
+     * IDを追加（登録済みの場合は何もしない）
+     * 採番順に追加されることが多いため末尾追加を優先する
+     */
+    void add(long id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            insertAt(-pos - 1, id);
+            return;
+        }
+        insertAt(size, id);
+    }
+
+    /**
+     * IDを削除（未登録の場合は何もしない）
+     */
+    void remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+        }
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    /**
+     * 指定IDより小さい最大の要素の位置（該当なしの場合-1）
+     */
+    int lowerIndex(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        return pos >= 0 ? pos - 1 : -pos - 2;
+    }
+
+    /**
+     * 指定IDより大きい最小の要素の位置（該当なしの場合size）
+     */
+    int higherIndex(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        return pos >= 0 ? pos + 1 : -pos - 1;
+    }
+
+    /**
+     * すべてのリストに含まれるIDの件数
+     * 最も小さいリストの各IDを他のリストから二分探索する
+     */
+    static long intersectionSize(List<LongPostingList> lists) {
+        LongPostingList smallest = lists.get(0);
+        for (LongPostingList list : lists) {
+            if (list.size < smallest.size) {
+                smallest = list;
+            }
+        }
+        long count = 0;
+        for (int i = 0; i < smallest.size; i++) {
+            if (containsInAll(lists, smallest, smallest.ids[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean containsInAll(List<LongPostingList> lists, LongPostingList skip, long id) {
+        for (LongPostingList list : lists) {
+            if (list != skip && !list.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long get(int index) {
+        return ids[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void insertAt(int pos, long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        ids[pos] = id;
+        size++;
+    }
+}
@@ -0,0 +1,747 @@
+package com.example.todo.service.index;
+
+import com.example.todo.domain.NoticeSummary;
+import com.example.todo.repository.NoticeRepository;
+import com.example.todo.service.event.NoticeChangedEvent;
+import com.example.todo.service.event.NoticeInvalidatedEvent;
+import com.example.todo.service.query.NoticeCursor;
+import com.example.todo.service.query.NoticeSearchCondition;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * お知らせのインメモリ検索インデックス
+ * タイトルのn-gram転置インデックスと、区分・各日付のソート済み二次インデックスを保持し、
+ * PostgreSQLにアクセスせずに一覧検索に応答する（notice.search.engine=index の場合のみ有効）
+ * 本日適用中のお知らせは事前に集合として保持し、日付が変わった時点で再計算する
+ * <p>
+ * 検索結果はJPAでの検索（NoticeSearchQueryCompilerが組み立てるクエリ）と完全に一致させる。一致を保証できない条件
+ * （キーワードの全文検索、LIKEのワイルドカード文字を含むタイトル）は {@link #supports} がfalseを返し、
+ * 呼び出し側はJPAでの検索にフォールバックする。
+ */
+@Component
+@ConditionalOnProperty(name = "notice.search.engine", havingValue = "index")
+public class NoticeSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(NoticeSearchIndex.class);
+
+    /** n-gramの文字数 */
+    private static final int GRAM_LENGTH = 2;
+
+    /** 候補がこの件数以下の場合は、並び順に走査せず候補を取り出して並べ替える */
+    private static final int SORT_THRESHOLD = 10_000;
+
+    /**
+     * 検索条件の候補
+     * @param lists 候補のポスティングリスト（全件が候補の場合null）
+     * @param size 候補の件数
+     */
+    private record Candidates(Collection<LongPostingList> lists, long size) {
+        static final Candidates NONE = new Candidates(List.of(), 0);
+    }
+
+    private final NoticeRepository repo;
+    /**
+     * 全件の読み込み・他のノードで変更されたお知らせの読み込み用
+     * レプリカの遅延で古い行を読まないようプライマリで読み込む
+     */
+    private final TransactionTemplate primaryTx;
+
+    /** 再構築を1件ずつ実行するスレッド（イベントを発行したスレッドで再構築しない） */
+    private final ExecutorService rebuildExecutor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("notice-index-rebuild").factory());
+
+    /** 実行待ちの再構築（開始前に重なった要求は1回にまとめる） */
+    private final AtomicReference<CompletableFuture<Void>> queuedRebuild = new AtomicReference<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** 現在のインデックス（lockで保護） */
+    private Segment segment = new Segment();
+
+    /** 再構築中に受け取った変更（lockで保護、再構築したインデックスへ切り替える前に適用） */
+    private final List<Consumer<Segment>> pending = new ArrayList<>();
+
+    /** 最後に開始した再構築の世代（lockで保護） */
+    private long generation;
+
+    /** 実行中の再構築の世代（lockで保護、実行中でない場合0） */
+    private long rebuildingGeneration;
+
+    /** 初回構築が完了し検索に使用できるか */
+    private volatile boolean ready;
+
+    public NoticeSearchIndex(NoticeRepository repo, PlatformTransactionManager txManager) {
+        this.repo = repo;
+        this.primaryTx = new TransactionTemplate(txManager);
+    }
+
+    // ===================================
+    // 構築・更新
+    // ===================================
+
+    /**
+     * 起動完了後にインデックスを構築
+     * 構築が完了するまでの検索はJPAにフォールバックする
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild();
+    }
+
+    /**
+     * 全件からの再構築を要求
+     * 再構築はバックグラウンドで1件ずつ実行し、開始前に重なった要求は1回にまとめる
+     * @return 要求を満たす再構築の完了
+     */
+    public CompletableFuture<Void> requestRebuild() {
+        CompletableFuture<Void> created = new CompletableFuture<>();
+        CompletableFuture<Void> queued = queuedRebuild.compareAndExchange(null, created);
+        if (queued != null) {
+            return queued;
+        }
+        rebuildExecutor.execute(() -> runRebuild(created));
+        return created;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void runRebuild(CompletableFuture<Void> completion) {
+        // 開始後の要求は開始時点より後の変更を含めるため、次の再構築として受け付ける
+        queuedRebuild.compareAndSet(completion, null);
+        try {
+            rebuild();
+            completion.complete(null);
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild the notice search index", e);
+            completion.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 全件をストリームで読み込んでインデックスを構築し、現在のインデックスと切り替える
+     * 読み込み中の変更は現在のインデックスへ反映しつつ記録し、切り替え前に構築したインデックスへ適用する
+     */
+    private void rebuild() {
+        long rebuildGeneration;
+        lock.writeLock().lock();
+        try {
+            rebuildGeneration = ++generation;
+            rebuildingGeneration = rebuildGeneration;
+            pending.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            long started = System.nanoTime();
+            Segment built = new Segment();
+            primaryTx.executeWithoutResult(status -> {
+                // 射影で読み込むため内容（content）の転送や永続化コンテキストへの蓄積は発生しない
+                try (Stream<NoticeSummary> summaries = repo.streamAllSummaries()) {
+                    summaries.forEach(summary -> built.put(IndexedNotice.of(summary)));
+                }
+            });
+            built.refreshActive(LocalDate.now());
+
+            lock.writeLock().lock();
+            try {
+                if (rebuildingGeneration != rebuildGeneration) {
+                    // 後から開始した再構築がある場合はそちらの結果を使う
+                    return;
+                }
+                pending.forEach(change -> change.accept(built));
+                segment = built;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Notice search index built: {} notices in {} ms",
+                    built.docs.size(), (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rebuildingGeneration == rebuildGeneration) {
+                    rebuildingGeneration = 0;
+                    pending.clear();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * お知らせ変更のコミット後にインデックスへ反映
+     * 対象を特定しない一括変更の場合は全件からの再構築を要求する
+     */
+    @TransactionalEventListener
+    public void onNoticeChanged(NoticeChangedEvent event) {
+        if (event.type() == NoticeChangedEvent.Type.BULK) {
+            requestRebuild();
+            return;
+        }
+        applyChange(segment -> segment.apply(event));
+    }
+
+    /**
+     * 他のノードでのお知らせ変更時に、変更されたお知らせを読み込み直して反映
+     * 対象を特定しない場合は全件からの再構築を要求する
+     */
+    @EventListener
+    public void onNoticeInvalidated(NoticeInvalidatedEvent event) {
+        if (event.isAll()) {
+            requestRebuild();
+            return;
+        }
+        List<NoticeSummary> summaries = primaryTx.execute(status -> repo.findSummariesByIds(event.ids()));
+        applyChange(segment -> {
+            // 削除・アーカイブされたお知らせは読み込み結果に含まれない
+            event.ids().forEach(segment::remove);
+            summaries.forEach(summary -> segment.put(IndexedNotice.of(summary)));
+        });
+    }
+
+    /**
+     * 変更を現在のインデックスへ反映（再構築中は構築したインデックスへも切り替え前に反映）
+     */
+    private void applyChange(Consumer<Segment> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(segment);
+            if (rebuildingGeneration != 0) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 日付が変わった時点で本日適用中のお知らせを再計算
+     */
+    @Scheduled(cron = "0 0 0 * * *")
+    public void refreshActiveToday() {
+        lock.writeLock().lock();
+        try {
+            segment.refreshActive(LocalDate.now());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ===================================
+    // 検索
+    // ===================================
+
+    /**
+     * 検索条件にインデックスで応答できるかチェック
+     * インデックスはアーカイブ済みのお知らせを保持しないため、アーカイブを含む検索には応答しない
+     * @param condition 検索条件
+     * @return JPAでの検索と同一の結果を返せる場合true
+     */
+    public boolean supports(NoticeSearchCondition condition) {
+        if (!ready || condition.hasKeyword() || condition.includeArchived()) {
+            return false;
+        }
+        String title = condition.title();
+        return title == null || title.chars().noneMatch(c -> c == '%' || c == '_' || c == '\\');
+    }
+
+    /**
+     * 件数取得なしで検索（NoticeRepository#findSummarySliceと同じ結果を返す）
+     * @param condition 検索条件
+     * @param pageable ページング情報（並び順は一覧の並び順に固定）
+     */
+    public Slice<NoticeSummary> findSlice(NoticeSearchCondition condition, Pageable pageable) {
+        int size = pageable.getPageSize();
+        // 1件多く取得して次ページの有無を判定する
+        List<NoticeSummary> rows = collect(condition, null, false, pageable.getOffset(), size + 1);
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? new ArrayList<>(rows.subList(0, size)) : rows, pageable, hasNext);
+    }
+
+    /**
+     * キーセット方式で検索（JPAでのシーク検索と同じ順序で最大limit件を返す）
+     * @param condition 検索条件
+     * @param cursor 基準行のカーソル（先頭ページの場合null）
+     * @param limit 取得件数
+     * @return 次ページ方向は一覧の並び順、前ページ方向は逆順
+     */
+    public List<NoticeSummary> seek(NoticeSearchCondition condition, NoticeCursor cursor, int limit) {
+        if (cursor == null) {
+            return collect(condition, null, false, 0, limit);
+        }
+        IndexedNotice key = new IndexedNotice(cursor.id(), null, "", null, cursor.postDate(), null, null);
+        return collect(condition, key, cursor.backward(), 0, limit);
+    }
+
+    /**
+     * 検索条件に一致する件数を取得（行は取り出さない）
+     */
+    public long count(NoticeSearchCondition condition) {
+        lock.readLock().lock();
+        try {
+            return segment.count(condition);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 検索条件に一致する行を一覧の並び順で取得
+     * 候補が少ない場合は候補を取り出して並べ替え、多い場合は並び順に保持した索引を必要な件数に達するまで走査する
+     * @param after 基準行（先頭から取得する場合null）。基準行自体は含まない
+     * @param backward trueの場合、基準行から先頭方向へ逆順に取得
+     * @param skip 読み飛ばす件数
+     * @param limit 取得件数
+     */
+    private List<NoticeSummary> collect(NoticeSearchCondition condition, IndexedNotice after, boolean backward,
+                                        long skip, int limit) {
+        String title = Segment.lowerTitle(condition);
+        List<NoticeSummary> rows = new ArrayList<>(Math.min(limit, 1024));
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            Candidates candidates = current.candidates(condition, title);
+            if (candidates.size() == 0) {
+                return rows;
+            }
+            if (candidates.lists() != null && candidates.size() <= SORT_THRESHOLD) {
+                Comparator<IndexedNotice> order = backward ? IndexedNotice.LIST_ORDER.reversed() : IndexedNotice.LIST_ORDER;
+                List<IndexedNotice> matched = new ArrayList<>();
+                current.forEachCandidate(candidates, doc -> {
+                    if (Segment.matches(doc, condition, title)
+                            && (after == null || order.compare(doc, after) > 0)) {
+                        matched.add(doc);
+                    }
+                });
+                matched.sort(order);
+                matched.stream().skip(skip).limit(limit).forEach(doc -> rows.add(doc.toSummary()));
+                return rows;
+            }
+            long[] skipped = {0};
+            current.walk(after, backward, doc -> {
+                if (!Segment.matches(doc, condition, title)) {
+                    return true;
+                }
+                if (skipped[0] < skip) {
+                    skipped[0]++;
+                    return true;
+                }
+                rows.add(doc.toSummary());
+                return rows.size() < limit;
+            });
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===================================
+    // インデックス本体
+    // ===================================
+
+    /**
+     * インデックスのデータ構造一式（スレッドセーフではない）
+     */
+    private static final class Segment {
+        private final Map<Long, IndexedNotice> docs = new HashMap<>();
+        private final Map<String, LongPostingList> titleGrams = new HashMap<>();
+        private final Map<String, LongPostingList> categories = new HashMap<>();
+        private final NavigableMap<LocalDate, LongPostingList> postDates = new TreeMap<>();
+        private final NavigableMap<LocalDate, LongPostingList> startDates = new TreeMap<>();
+        private final NavigableMap<LocalDate, LongPostingList> endDates = new TreeMap<>();
+        /** 掲載日が未設定のお知らせ（一覧の並び順で先頭） */
+        private final LongPostingList noPostDate = new LongPostingList();
+        /** 適用終了日が未設定（無期限）のお知らせ */
+        private final LongPostingList openEnded = new LongPostingList();
+        /** activeDate時点で適用中のお知らせ */
+        private LongPostingList active = new LongPostingList();
+        private LocalDate activeDate;
+
+        /**
+         * 指定日に適用中のお知らせの集合を再計算
+         */
+        void refreshActive(LocalDate date) {
+            long[] ids = new long[docs.size()];
+            int size = 0;
+            for (IndexedNotice doc : docs.values()) {
+                if (doc.isEffectiveOn(date)) {
+                    ids[size++] = doc.id();
+                }
+            }
+            active = LongPostingList.of(ids, size);
+            activeDate = date;
+        }
+
+        void apply(NoticeChangedEvent event) {
+            // インデックスはアーカイブ済みのお知らせを含まないため、アーカイブも削除と同様に除く
+            if (event.type() == NoticeChangedEvent.Type.DELETED || event.type() == NoticeChangedEvent.Type.ARCHIVED) {
+                event.ids().forEach(this::remove);
+            } else {
+                event.notices().forEach(notice -> put(IndexedNotice.of(notice)));
+            }
+        }
+
+        void put(IndexedNotice doc) {
+            remove(doc.id());
+            docs.put(doc.id(), doc);
+            for (String gram : grams(doc.lowerTitle())) {
+                titleGrams.computeIfAbsent(gram, k -> new LongPostingList()).add(doc.id());
+            }
+            addPosting(categories, doc.categoryCode(), doc.id());
+            addPosting(postDates, doc.postDate(), doc.id());
+            if (doc.postDate() == null) {
+                noPostDate.add(doc.id());
+            }
+            addPosting(startDates, doc.startDate(), doc.id());
+            addPosting(endDates, doc.endDate(), doc.id());
+            if (doc.endDate() == null) {
+                openEnded.add(doc.id());
+            }
+            if (activeDate != null && doc.isEffectiveOn(activeDate)) {
+                active.add(doc.id());
+            }
+        }
+
+        void remove(long id) {
+            IndexedNotice doc = docs.remove(id);
+            if (doc == null) {
+                return;
+            }
+            for (String gram : grams(doc.lowerTitle())) {
+                removePosting(titleGrams, gram, id);
+            }
+            removePosting(categories, doc.categoryCode(), id);
+            removePosting(postDates, doc.postDate(), id);
+            noPostDate.remove(id);
+            removePosting(startDates, doc.startDate(), id);
+            removePosting(endDates, doc.endDate(), id);
+            openEnded.remove(id);
+            active.remove(id);
+        }
+
+        /**
+         * 検索条件の候補となるポスティングリストを選ぶ
+         * 条件に対応する索引のうち最も件数の少ないものを候補とし、全条件での判定は呼び出し側で行う
+         * @param title 小文字にしたタイトル条件（未指定の場合null）
+         */
+        Candidates candidates(NoticeSearchCondition condition, String title) {
+            Collection<LongPostingList> candidates = null;
+            long best = docs.size();
+
+            if (title != null && title.length() >= GRAM_LENGTH) {
+                LongPostingList smallest = null;
+                for (String gram : grams(title)) {
+                    LongPostingList list = titleGrams.get(gram);
+                    if (list == null) {
+                        return Candidates.NONE;
+                    }
+                    if (smallest == null || list.size() < smallest.size()) {
+                        smallest = list;
+                    }
+                }
+                candidates = List.of(smallest);
+                best = smallest.size();
+            }
+            if (condition.categoryCode() != null) {
+                LongPostingList list = categories.get(condition.categoryCode());
+                if (list == null) {
+                    return Candidates.NONE;
+                }
+                if (candidates == null || list.size() < best) {
+                    candidates = List.of(list);
+                    best = list.size();
+                }
+            }
+            if (condition.postDate() != null) {
+                LongPostingList list = postDates.get(condition.postDate());
+                if (list == null) {
+                    return Candidates.NONE;
+                }
+                if (candidates == null || list.size() < best) {
+                    candidates = List.of(list);
+                    best = list.size();
+                }
+            }
+            if (condition.effectiveFrom() != null) {
+                Collection<LongPostingList> range = startDates.tailMap(condition.effectiveFrom(), true).values();
+                long size = totalSize(range);
+                if (candidates == null || size < best) {
+                    candidates = range;
+                    best = size;
+                }
+            }
+            if (condition.effectiveTo() != null) {
+                Collection<LongPostingList> range = endDates.headMap(condition.effectiveTo(), true).values();
+                long size = totalSize(range);
+                if (candidates == null || size < best) {
+                    candidates = range;
+                    best = size;
+                }
+            }
+            if (condition.effectiveOn() != null) {
+                Collection<LongPostingList> stabbing = effectiveCandidates(condition.effectiveOn());
+                long size = totalSize(stabbing);
+                if (candidates == null || size < best) {
+                    candidates = stabbing;
+                    best = size;
+                }
+            }
+            return new Candidates(candidates, best);
+        }
+
+        /**
+         * 候補の各行を処理（候補のリストは同じ索引の異なるキーのため、同じ行が重複することはない）
+         */
+        void forEachCandidate(Candidates candidates, Consumer<IndexedNotice> action) {
+            for (LongPostingList list : candidates.lists()) {
+                for (int i = 0; i < list.size(); i++) {
+                    action.accept(docs.get(list.get(i)));
+                }
+            }
+        }
+
+        /**
+         * 検索条件に一致する件数を数える
+         * 区分・掲載日・本日適用中の条件のみの場合は、ポスティングリストの共通部分の件数で求める
+         * それ以外の条件を含む場合は候補を1件ずつ判定して数える（いずれも行の取り出しは行わない）
+         */
+        long count(NoticeSearchCondition condition) {
+            String title = lowerTitle(condition);
+            boolean postingsOnly = title == null
+                    && condition.effectiveFrom() == null && condition.effectiveTo() == null
+                    && (condition.effectiveOn() == null || condition.effectiveOn().equals(activeDate));
+            if (postingsOnly) {
+                List<LongPostingList> lists = new ArrayList<>(3);
+                if (condition.categoryCode() != null) {
+                    lists.add(categories.get(condition.categoryCode()));
+                }
+                if (condition.postDate() != null) {
+                    lists.add(postDates.get(condition.postDate()));
+                }
+                if (condition.effectiveOn() != null) {
+                    lists.add(active);
+                }
+                if (lists.contains(null)) {
+                    return 0;
+                }
+                return lists.isEmpty() ? docs.size() : LongPostingList.intersectionSize(lists);
+            }
+            Candidates candidates = candidates(condition, title);
+            long count = 0;
+            if (candidates.lists() == null) {
+                for (IndexedNotice doc : docs.values()) {
+                    if (matches(doc, condition, title)) {
+                        count++;
+                    }
+                }
+                return count;
+            }
+            for (LongPostingList list : candidates.lists()) {
+                for (int i = 0; i < list.size(); i++) {
+                    if (matches(docs.get(list.get(i)), condition, title)) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+
+        /**
+         * 一覧の並び順（掲載日降順・NULLを先頭、ID降順）で行を走査
+         * 掲載日未設定のリストと掲載日ごとのリストを順にたどるため、並べ替えや行のコピーは発生しない
+         * @param after 基準行（先頭から走査する場合null）。基準行自体は含まない
+         * @param backward trueの場合、基準行から先頭方向へ逆順に走査（afterの指定が必要）
+         * @param visitor 行ごとの処理（falseを返すと走査を終了）
+         */
+        void walk(IndexedNotice after, boolean backward, Predicate<IndexedNotice> visitor) {
+            if (backward) {
+                if (after.postDate() == null) {
+                    visitAscending(noPostDate, noPostDate.higherIndex(after.id()), visitor);
+                    return;
+                }
+                LongPostingList sameDate = postDates.get(after.postDate());
+                if (sameDate != null && !visitAscending(sameDate, sameDate.higherIndex(after.id()), visitor)) {
+                    return;
+                }
+                for (LongPostingList list : postDates.tailMap(after.postDate(), false).values()) {
+                    if (!visitAscending(list, 0, visitor)) {
+                        return;
+                    }
+                }
+                visitAscending(noPostDate, 0, visitor);
+                return;
+            }
+            Collection<LongPostingList> dated;
+            if (after == null || after.postDate() == null) {
+                int from = after == null ? noPostDate.size() - 1 : noPostDate.lowerIndex(after.id());
+                if (!visitDescending(noPostDate, from, visitor)) {
+                    return;
+                }
+                dated = postDates.descendingMap().values();
+            } else {
+                LongPostingList sameDate = postDates.get(after.postDate());
+                if (sameDate != null && !visitDescending(sameDate, sameDate.lowerIndex(after.id()), visitor)) {
+                    return;
+                }
+                dated = postDates.headMap(after.postDate(), false).descendingMap().values();
+            }
+            for (LongPostingList list : dated) {
+                if (!visitDescending(list, list.size() - 1, visitor)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * リストを指定位置から先頭へ（ID降順に）走査
+         * @return 走査を終了した場合false
+         */
+        private boolean visitDescending(LongPostingList list, int from, Predicate<IndexedNotice> visitor) {
+            for (int i = from; i >= 0; i--) {
+                if (!visitor.test(docs.get(list.get(i)))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * リストを指定位置から末尾へ（ID昇順に）走査
+         * @return 走査を終了した場合false
+         */
+        private boolean visitAscending(LongPostingList list, int from, Predicate<IndexedNotice> visitor) {
+            for (int i = from; i < list.size(); i++) {
+                if (!visitor.test(docs.get(list.get(i)))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 指定日に適用中となり得るお知らせの候補を取得
+         * 本日分は事前計算済みの集合、それ以外は開始日以前・終了日以降（無期限含む）の小さい方を使用
+         */
+        private Collection<LongPostingList> effectiveCandidates(LocalDate date) {
+            if (date.equals(activeDate)) {
+                return List.of(active);
+            }
+            Collection<LongPostingList> started = startDates.headMap(date, true).values();
+            List<LongPostingList> notEnded = new ArrayList<>(endDates.tailMap(date, true).values());
+            notEnded.add(openEnded);
+            return totalSize(started) <= totalSize(notEnded) ? started : notEnded;
+        }
+
+        /**
+         * NoticeSearchQueryCompilerと同じ条件で判定
+         */
+        private static boolean matches(IndexedNotice doc, NoticeSearchCondition condition, String lowerTitle) {
+            if (lowerTitle != null && !doc.lowerTitle().contains(lowerTitle)) {
+                return false;
+            }
+            if (condition.categoryCode() != null && !condition.categoryCode().equals(doc.categoryCode())) {
+                return false;
+            }
+            if (condition.postDate() != null && !condition.postDate().equals(doc.postDate())) {
+                return false;
+            }
+            if (condition.effectiveFrom() != null
+                    && (doc.startDate() == null || doc.startDate().isBefore(condition.effectiveFrom()))) {
+                return false;
+            }
+            if (condition.effectiveOn() != null && !doc.isEffectiveOn(condition.effectiveOn())) {
+                return false;
+            }
+            return condition.effectiveTo() == null
+                    || doc.endDate() != null && !doc.endDate().isAfter(condition.effectiveTo());
+        }
+
+        private static <K> void addPosting(Map<K, LongPostingList> index, K key, long id) {
+            if (key != null) {
+                index.computeIfAbsent(key, k -> new LongPostingList()).add(id);
+            }
+        }
+
+        private static <K> void removePosting(Map<K, LongPostingList> index, K key, long id) {
+            if (key == null) {
+                return;
+            }
+            LongPostingList list = index.get(key);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+
+        private static long totalSize(Collection<LongPostingList> lists) {
+            long size = 0;
+            for (LongPostingList list : lists) {
+                size += list.size();
+            }
+            return size;
+        }
+
+        /**
+         * 文字列を重複なしのn-gramに分割
+         */
+        private static Collection<String> grams(String value) {
+            if (value.length() < GRAM_LENGTH) {
+                return List.of();
+            }
+            Set<String> grams = new LinkedHashSet<>();
+            for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+                grams.add(value.substring(i, i + GRAM_LENGTH));
+            }
+            return grams;
+        }
+
+        /**
+         * 部分一致検索用の小文字のタイトル条件（未指定の場合null）
+         */
+        static String lowerTitle(NoticeSearchCondition condition) {
+            String title = condition.title();
+            return title != null && !title.isBlank() ? title.toLowerCase(Locale.ROOT) : null;
+        }
+    }
+}
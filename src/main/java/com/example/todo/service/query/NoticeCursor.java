@@ -0,0 +1,66 @@
+package com.example.todo.service.query;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * キーセットページングのカーソル
+ * 一覧の並び順（掲載日降順, ID降順）における基準行のキーを保持する
+ * @param postDate 基準行の掲載日（未設定の場合null）
+ * @param id 基準行のID
+ * @param backward true:基準行より前の行を取得, false:基準行より後の行を取得
+ */
+public record NoticeCursor(LocalDate postDate, long id, boolean backward) {
+
+    /** トークン内の掲載日とIDの区切り文字 */
+    private static final char SEPARATOR = '_';
+
+    /**
+     * 基準行より後（次ページ方向）のカーソルを生成
+     */
+    public static NoticeCursor after(LocalDate postDate, long id) {
+        return new NoticeCursor(postDate, id, false);
+    }
+
+    /**
+     * 基準行より前（前ページ方向）のカーソルを生成
+     */
+    public static NoticeCursor before(LocalDate postDate, long id) {
+        return new NoticeCursor(postDate, id, true);
+    }
+
+    /**
+     * 画面受け渡し用のトークン文字列に変換（方向は含まない）
+     */
+    public String toToken() {
+        String raw = (postDate != null ? postDate.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * トークン文字列からカーソルを復元（空または不正な場合はnullを返す）
+     * @param token toToken()で生成したトークン
+     * @param backward 取得方向
+     */
+    public static NoticeCursor parse(String token, boolean backward) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(SEPARATOR);
+            if (sep < 0) {
+                return null;
+            }
+            String date = raw.substring(0, sep);
+            return new NoticeCursor(
+                    date.isEmpty() ? null : LocalDate.parse(date),
+                    Long.parseLong(raw.substring(sep + 1)),
+                    backward);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.todo.service.query;
+
+import com.example.todo.domain.NoticeSummary;
+
+import java.util.List;
+
+/**
+ * キーセットページングの検索結果
+ * @param content 表示対象のお知らせ一覧項目（掲載日降順, ID降順）
+ * @param size ページサイズ
+ * @param previousCursor 前ページ取得用トークン（前ページがない場合null）
+ * @param nextCursor 次ページ取得用トークン（次ページがない場合null）
+ */
+public record NoticeKeysetPage(
+        List<NoticeSummary> content,
+        int size,
+        String previousCursor,
+        String nextCursor
+) {
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -9,21 +9,52 @@ import java.time.LocalDate;
  * @param postDate 掲載日（完全一致検索）
  * @param effectiveFrom 適用期間開始日（以降の検索）
  * @param effectiveTo 適用期間終了日（以前の検索）
+ * @param keyword キーワード（タイトル・内容の全文検索、関連度順）
+ * @param effectiveOn 適用日（指定日が適用期間内のお知らせを検索）
+ * @param includeArchived アーカイブ済みのお知らせも検索対象とするか
  */
 public record NoticeSearchCondition(
         String title,
         String categoryCode,
         LocalDate postDate,
         LocalDate effectiveFrom,
-        LocalDate effectiveTo
+        LocalDate effectiveTo,
+        String keyword,
+        LocalDate effectiveOn,
+        boolean includeArchived
 ) {
     /**
      * すべての検索条件が空かチェック
      * @return すべて空の場合true
      */
-    @SuppressWarnings("unused") // 将来の拡張性のため保持
     public boolean isEmpty() {
-        return isBlank(title) && isBlank(categoryCode) && postDate == null && effectiveFrom == null && effectiveTo == null;
+        return isBlank(title) && isBlank(categoryCode) && postDate == null && effectiveFrom == null && effectiveTo == null
+                && isBlank(keyword) && effectiveOn == null;
+    }
+
+    /**
+     * キーワード検索（関連度順の並び替え）を行うかチェック
+     * @return キーワードが指定されている場合true
+     */
+    public boolean hasKeyword() {
+        return !isBlank(keyword);
+    }
+
+    /**
+     * キャッシュキー用に正規化した検索条件を取得
+     * タイトルは大文字小文字を区別せず検索するため小文字に揃え、空文字はnullに揃える
+     */
+    public NoticeSearchCondition normalized() {
+        return new NoticeSearchCondition(
+                isBlank(title) ? null : title.toLowerCase(),
+                isBlank(categoryCode) ? null : categoryCode,
+                postDate,
+                effectiveFrom,
+                effectiveTo,
+                isBlank(keyword) ? null : keyword.trim(),
+                effectiveOn,
+                includeArchived
+        );
     }
 
     private boolean isBlank(String value) {
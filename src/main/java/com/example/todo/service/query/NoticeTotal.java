@@ -0,0 +1,45 @@
+package com.example.todo.service.query;
+
+/**
+ * 検索結果の総件数
+ * 件数取得クエリを省略した場合は下限値または推定値となる
+ * @param value 件数
+ * @param accuracy 件数の精度
+ */
+public record NoticeTotal(long value, Accuracy accuracy) {
+
+    /**
+     * 件数の精度
+     */
+    public enum Accuracy {
+        /** 正確な件数 */
+        EXACT,
+        /** 少なくともこの件数以上 */
+        AT_LEAST,
+        /** 実行計画による推定件数 */
+        ESTIMATED
+    }
+
+    public static NoticeTotal exact(long value) {
+        return new NoticeTotal(value, Accuracy.EXACT);
+    }
+
+    public static NoticeTotal atLeast(long value) {
+        return new NoticeTotal(value, Accuracy.AT_LEAST);
+    }
+
+    public static NoticeTotal estimated(long value) {
+        return new NoticeTotal(value, Accuracy.ESTIMATED);
+    }
+
+    public boolean isExact() {
+        return accuracy == Accuracy.EXACT;
+    }
+
+    /**
+     * 総ページ数を取得（正確な件数の場合のみ意味を持つ）
+     */
+    public long totalPages(int size) {
+        return size <= 0 ? 0 : (value + size - 1) / size;
+    }
+}
@@ -0,0 +1,18 @@
+-- ===================================
+-- お知らせテーブル
+-- ===================================
+-- ddl-auto=updateで作成済みの環境でもそのまま適用できるようIF NOT EXISTSで定義
+CREATE TABLE IF NOT EXISTS t_notice (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(100) NOT NULL,
+    category_cd VARCHAR(4),
+    post_date   DATE,
+    start_date  DATE NOT NULL,
+    end_date    DATE,
+    content     TEXT,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+-- 一覧の並び順（掲載日降順, ID降順）およびキーセットページングのシーク用
+CREATE INDEX IF NOT EXISTS idx_notice_post_date_id ON t_notice (post_date DESC, id DESC);
@@ -0,0 +1,22 @@
+-- ===================================
+-- タイトル部分一致検索・全文検索用のインデックス
+-- ===================================
+
+-- 旧マッピング（@Lob）で作成された環境では内容がラージオブジェクト（oid）のため、全文検索できるようtextへ変換
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 't_notice' AND column_name = 'content' AND data_type = 'oid') THEN
+        ALTER TABLE t_notice ALTER COLUMN content TYPE TEXT USING convert_from(lo_get(content), 'UTF8');
+    END IF;
+END
+$$;
+
+-- タイトルの部分一致（lower(title) LIKE '%x%'）をトライグラムGINインデックスで処理
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_notice_title_trgm ON t_notice USING gin (lower(title) gin_trgm_ops);
+
+-- タイトルと内容の全文検索用ベクトル（日本語の形態素解析器は標準で提供されないためsimple構成を使用）
+ALTER TABLE t_notice ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(title, '') || ' ' || coalesce(content, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_notice_search_vector ON t_notice USING gin (search_vector);
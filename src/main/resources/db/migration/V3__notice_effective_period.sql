@@ -0,0 +1,16 @@
+-- ===================================
+-- 適用期間の区間インデックス
+-- ===================================
+-- 「指定日に適用中のお知らせ」（start_date <= D <= end_date、end_date未設定は無期限）を
+-- daterangeのGiSTインデックスで検索する。検索時も同じ関数で区間を組み立てること。
+
+-- 適用期間を閉区間のdaterangeに変換（終了日未設定は上限なし、開始日より前の終了日は開始日に丸める）
+CREATE OR REPLACE FUNCTION notice_effective_period(start_date DATE, end_date DATE)
+    RETURNS DATERANGE
+    LANGUAGE sql
+    IMMUTABLE
+    PARALLEL SAFE
+AS 'SELECT daterange(start_date, CASE WHEN end_date < start_date THEN start_date ELSE end_date END, ''[]'')';
+
+CREATE INDEX IF NOT EXISTS idx_notice_effective_period
+    ON t_notice USING gist (notice_effective_period(start_date, end_date));
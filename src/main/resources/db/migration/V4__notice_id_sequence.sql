@@ -0,0 +1,15 @@
+-- ===================================
+-- お知らせIDの採番をシーケンスに変更
+-- ===================================
+-- IDENTITY列ではINSERTごとに採番結果を受け取る必要があり、Hibernateのバッチ登録が無効になる
+-- 50件単位で採番するシーケンス（HibernateのpooledオプティマイザとINCREMENTを一致させること）を使用する
+CREATE SEQUENCE IF NOT EXISTS t_notice_seq INCREMENT BY 50 OWNED BY t_notice.id;
+
+-- pooledオプティマイザは取得値を採番範囲の上限として扱うため、既存の最大IDを現在値にする
+SELECT setval('t_notice_seq', max_id)
+FROM (SELECT MAX(id) AS max_id FROM t_notice) t
+WHERE max_id IS NOT NULL;
+
+-- SQLで直接登録する場合もシーケンスから採番する
+ALTER TABLE t_notice ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE t_notice ALTER COLUMN id SET DEFAULT nextval('t_notice_seq');
@@ -0,0 +1,5 @@
+-- ===================================
+-- お知らせの楽観的排他制御用バージョン
+-- ===================================
+-- 更新は UPDATE ... WHERE id = ? AND version = ? の1文で行い、更新件数0件で競合を検出する
+ALTER TABLE t_notice ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,66 @@
+-- ===================================
+-- お知らせテーブルを掲載日で範囲パーティション化
+-- ===================================
+-- 掲載日の条件（掲載日指定、キーセットページングのシーク条件）で対象外の期間のパーティションを読まないようにする
+-- パーティションは1年単位で作成する。将来の期間の作成と保持期間を過ぎたパーティションの切り離しは
+-- NoticePartitionManagerが定期的に行う（notice.partition.*）
+-- 掲載日未設定のお知らせと、パーティションのない期間の掲載日はデフォルトパーティションに格納する
+--
+-- パーティションテーブルの主キーにはパーティションキーを含める必要があるが、掲載日はNULLを許容するため
+-- 主キーは各パーティションのid列に設定する（IDはシーケンスから採番するためテーブル全体でも重複しない）
+--
+-- 既存データは新しいテーブルへ複製するため、件数が多い環境ではメンテナンス時間内に適用すること
+
+ALTER TABLE t_notice RENAME TO t_notice_unpartitioned;
+ALTER SEQUENCE t_notice_seq OWNED BY NONE;
+
+CREATE TABLE t_notice (
+    id            BIGINT NOT NULL DEFAULT nextval('t_notice_seq'),
+    title         VARCHAR(100) NOT NULL,
+    category_cd   VARCHAR(4),
+    post_date     DATE,
+    start_date    DATE NOT NULL,
+    end_date      DATE,
+    content       TEXT,
+    search_vector TSVECTOR
+        GENERATED ALWAYS AS (to_tsvector('simple', coalesce(title, '') || ' ' || coalesce(content, ''))) STORED,
+    version       BIGINT NOT NULL DEFAULT 0,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6)
+) PARTITION BY RANGE (post_date);
+
+-- 既存データの期間から翌年までの年単位パーティション（20年より前の掲載日はデフォルトパーティションに格納）
+DO $$
+DECLARE
+    this_year  INT := EXTRACT(YEAR FROM CURRENT_DATE)::INT;
+    first_year INT;
+    last_year  INT;
+BEGIN
+    SELECT GREATEST(COALESCE(EXTRACT(YEAR FROM MIN(post_date))::INT, this_year), this_year - 20),
+           GREATEST(COALESCE(EXTRACT(YEAR FROM MAX(post_date))::INT, this_year), this_year + 1)
+    INTO first_year, last_year
+    FROM t_notice_unpartitioned;
+
+    FOR y IN first_year..last_year LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF t_notice (PRIMARY KEY (id)) FOR VALUES FROM (%L) TO (%L)',
+                       't_notice_y' || y, make_date(y, 1, 1), make_date(y + 1, 1, 1));
+    END LOOP;
+END
+$$;
+
+CREATE TABLE t_notice_default PARTITION OF t_notice (PRIMARY KEY (id)) DEFAULT;
+
+INSERT INTO t_notice (id, title, category_cd, post_date, start_date, end_date, content, version, created_at, updated_at)
+SELECT id, title, category_cd, post_date, start_date, end_date, content, version, created_at, updated_at
+FROM t_notice_unpartitioned;
+
+DROP TABLE t_notice_unpartitioned;
+ALTER SEQUENCE t_notice_seq OWNED BY t_notice.id;
+
+-- 親テーブルに作成したインデックスは既存・将来のパーティションにも作成される（V1〜V3と同じ定義）
+CREATE INDEX idx_notice_post_date_id ON t_notice (post_date DESC, id DESC);
+CREATE INDEX idx_notice_title_trgm ON t_notice USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX idx_notice_search_vector ON t_notice USING gin (search_vector);
+CREATE INDEX idx_notice_effective_period ON t_notice USING gist (notice_effective_period(start_date, end_date));
+
+ANALYZE t_notice;
@@ -0,0 +1,38 @@
+-- ===================================
+-- 適用終了したお知らせのアーカイブ
+-- ===================================
+-- 適用終了日から保持期間を過ぎたお知らせはNoticeArchiverがt_noticeからt_notice_archiveへ移動する
+-- （notice.archive.*）。一覧検索・件数取得は通常t_noticeのみを対象とし、
+-- 「アーカイブを含む」を指定した場合のみ両テーブルを結合したビューを検索する
+
+CREATE TABLE t_notice_archive (
+    id            BIGINT PRIMARY KEY,
+    title         VARCHAR(100) NOT NULL,
+    category_cd   VARCHAR(4),
+    post_date     DATE,
+    start_date    DATE NOT NULL,
+    end_date      DATE,
+    content       TEXT,
+    search_vector TSVECTOR
+        GENERATED ALWAYS AS (to_tsvector('simple', coalesce(title, '') || ' ' || coalesce(content, ''))) STORED,
+    version       BIGINT NOT NULL DEFAULT 0,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    archived_at   TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+
+-- 一覧の並び順（アーカイブを含む検索で両テーブルの結果を並び順のまま結合できるようにする）
+CREATE INDEX idx_notice_archive_post_date_id ON t_notice_archive (post_date DESC, id DESC);
+
+-- アーカイブ対象（適用終了日が基準日より前）の抽出用
+CREATE INDEX idx_notice_end_date ON t_notice (end_date) WHERE end_date IS NOT NULL;
+
+-- アーカイブを含む検索用のビュー（検索条件は各テーブルのインデックスで評価される）
+CREATE VIEW v_notice_with_archive AS
+SELECT id, title, category_cd, post_date, start_date, end_date, content, search_vector, version,
+       created_at, updated_at, false AS archived
+FROM t_notice
+UNION ALL
+SELECT id, title, category_cd, post_date, start_date, end_date, content, search_vector, version,
+       created_at, updated_at, true AS archived
+FROM t_notice_archive;
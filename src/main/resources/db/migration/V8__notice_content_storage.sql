@@ -0,0 +1,26 @@
+-- ===================================
+-- お知らせ内容の格納方式
+-- ===================================
+-- 内容（content）はPostgreSQLのTOASTで圧縮・行外格納する
+-- ・圧縮方式は高速なlz4とする（サーバーがlz4に対応していない場合は既定のpglzのまま）
+-- ・行がtoast_tuple_targetを超えた場合に内容を圧縮・行外へ移動する。既定（約2KB）では一般的な長さの内容は
+--   圧縮されず、内容を読まない一覧検索でも行が大きい分だけ多くのページを読むため、NoticePartitionManagerが
+--   各パーティションにnotice.content.compression-thresholdを設定する
+-- 設定は以降に書き込まれた行から適用される（既存の行は更新・アーカイブ時に圧縮し直される）
+--
+-- 内容のハッシュ（content_hash）は、更新時に内容が変わっていなければ内容を書き直さないために使用する
+-- （NoticeRepository#updateIfVersionMatches）。列の追加のため既存の行はすべて書き直される
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_settings WHERE name = 'default_toast_compression' AND 'lz4' = ANY (enumvals)) THEN
+        ALTER TABLE t_notice ALTER COLUMN content SET COMPRESSION lz4;
+        ALTER TABLE t_notice_archive ALTER COLUMN content SET COMPRESSION lz4;
+    END IF;
+END
+$$;
+
+-- アーカイブは移動時に1回だけ書き込むため、閾値はここで固定する
+ALTER TABLE t_notice_archive SET (toast_tuple_target = 512);
+
+ALTER TABLE t_notice ADD COLUMN content_hash TEXT GENERATED ALWAYS AS (md5(content)) STORED;
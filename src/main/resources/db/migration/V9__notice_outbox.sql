@@ -0,0 +1,29 @@
+-- ===================================
+-- お知らせ変更のアウトボックスと変更フィード
+-- ===================================
+-- 外部システムへお知らせの変更を通知するため、登録・更新・削除と同じトランザクションで
+-- アウトボックス（t_notice_outbox）に変更を記録する。NoticeOutboxRelayが記録順にまとめて
+-- 変更フィード（t_notice_change_feed）へ移し、外部システムはフィードをオフセット順に読み込む
+--
+-- アウトボックスのIDは採番順で、コミット順とは限らない。フィードのオフセットは1つのノードのみが
+-- 実行するリレーで採番するため、読み込んだオフセットより前の変更が後から見えることはない
+
+CREATE TABLE t_notice_outbox (
+    id          BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    change_type VARCHAR(10) NOT NULL,
+    notice_id   BIGINT,
+    payload     JSONB,
+    created_at  TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+
+CREATE TABLE t_notice_change_feed (
+    change_offset BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    change_type   VARCHAR(10) NOT NULL,
+    notice_id     BIGINT,
+    payload       JSONB,
+    occurred_at   TIMESTAMP(6) NOT NULL,
+    relayed_at    TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+
+-- 保持期間を過ぎたフィードの削除用
+CREATE INDEX idx_notice_change_feed_relayed_at ON t_notice_change_feed (relayed_at);
@@ -11,6 +11,11 @@ function validateSearchForm(form) {
     const titleError = validateMaxLength(title, 100, 'お知らせタイトル');
     if (titleError) errors.push(titleError);
 
+    // キーワード長さチェック
+    const keyword = form.keyword.value || '';
+    const keywordError = validateMaxLength(keyword, 100, 'キーワード');
+    if (keywordError) errors.push(keywordError);
+
     // 掲載日チェック
     const postDateVal = form.postDate.value.trim();
     if (postDateVal) {
@@ -41,6 +46,16 @@ function validateSearchForm(form) {
         errors.push('適用期間(終了)には正しい日付を入力してください。');
     }
 
+    // 適用日チェック
+    const effectiveOnVal = form.effectiveOn.value.trim();
+    if (effectiveOnVal) {
+        if (!isValidDateString(effectiveOnVal)) {
+            errors.push('適用日にはYYYY-MM-DD形式の日付を入力してください。');
+        }
+    } else if (form.effectiveOn.validity && form.effectiveOn.validity.badInput) {
+        errors.push('適用日には正しい日付を入力してください。');
+    }
+
     // 日付範囲チェック
     if (!errors.length) {
         const rangeError = validateDateRange(fromVal, toVal);
@@ -104,8 +119,10 @@ function closeSuccessDialog() {
 
 /**
  * 確認ダイアログを開く
+ * @param {string} message - 確認メッセージ（省略時は既定のメッセージ）
  */
-function openConfirmDialog() {
+function openConfirmDialog(message = '削除してもよろしいですか？') {
+    document.getElementById('confirmMessage').textContent = message;
     document.getElementById('confirmDialog').style.display = 'flex';
 }
 
@@ -134,3 +151,198 @@ function closeSuccessDialogAndRerun() {
 }
 
 
+
+// ===================================
+// ライブ更新（お知らせ変更のイベントストリーム）
+// ===================================
+
+/**
+ * 表示中の検索結果を、サーバーから配信されるお知らせ変更（/notice/stream）で更新する
+ * ・更新: 表示中の行を書き換え（検索条件に一致しなくなった場合は削除）
+ * ・削除: 表示中の行を削除
+ * ・登録、表示外の行の更新: 検索条件に一致し、表示中の範囲に並ぶ場合は挿入
+ * キーワード検索など画面で判定できない変更や、切断中に変更を取りこぼした可能性がある場合は再検索を促す
+ */
+function startLiveUpdates() {
+    const tbody = document.querySelector('#actionForm tbody');
+    const url = tbody && tbody.dataset.streamUrl;
+    if (!url || !window.EventSource) return;
+
+    const form = document.getElementById('rerunSearchForm');
+    const condition = {
+        title: (form.title.value || '').toLowerCase(),
+        keyword: (form.keyword.value || '').trim(),
+        category: form.category.value,
+        postDate: form.postDate.value,
+        from: form.from.value,
+        to: form.to.value,
+        effectiveOn: form.effectiveOn.value,
+        includeArchived: form.includeArchived.value === 'true',
+        firstPage: !form.page.value || form.page.value === '0',
+        size: parseInt(form.size.value, 10) || 100
+    };
+
+    let connected = false;
+    const source = new EventSource(url);
+    source.addEventListener('open', () => {
+        // 再接続の場合は切断中の変更を取りこぼしている可能性がある
+        if (connected) showLiveUpdateBanner();
+        connected = true;
+    });
+    source.addEventListener('notice', event => applyNoticeChange(tbody, condition, JSON.parse(event.data)));
+}
+
+/**
+ * お知らせ変更を表示中の結果行に反映
+ */
+function applyNoticeChange(tbody, condition, change) {
+    if (change.type === 'reload') {
+        showLiveUpdateBanner();
+        return;
+    }
+    const row = tbody.querySelector(`tr[data-id="${change.id}"]`);
+    if (change.type === 'deleted' || (change.type === 'archived' && !condition.includeArchived)) {
+        if (row) row.remove();
+        return;
+    }
+    if (change.type === 'archived') {
+        // アーカイブを含む検索ではアーカイブ後も結果に残るが、更新・削除できなくなる
+        if (row) markArchivedRow(row);
+        return;
+    }
+    const matches = matchesCondition(change, condition);
+    if (row) {
+        if (matches === false) {
+            row.remove();
+        } else if (matches === null || (row.dataset.postDate || '') === (change.postDate || '')) {
+            // 関連度順（キーワード検索）では並び順を判定できないため、位置は変えない
+            fillNoticeRow(row, change);
+            highlightRow(row);
+        } else {
+            const checked = row.querySelector('input[name="selectedIds"]').checked;
+            row.remove();
+            insertNoticeRow(tbody, condition, change, checked);
+        }
+    } else if (matches === true) {
+        insertNoticeRow(tbody, condition, change, false);
+    } else if (matches === null) {
+        showLiveUpdateBanner();
+    }
+}
+
+/**
+ * 検索条件に一致するか判定（NoticeSearchQueryCompilerと同じ条件）
+ * @returns {boolean|null} 画面で判定できない場合null
+ */
+function matchesCondition(notice, condition) {
+    if (condition.keyword || /[%_]/.test(condition.title)) return null;
+    const start = notice.startDate || '';
+    const end = notice.endDate || '';
+    if (condition.title && !(notice.title || '').toLowerCase().includes(condition.title)) return false;
+    if (condition.category && notice.categoryCode !== condition.category) return false;
+    if (condition.postDate && notice.postDate !== condition.postDate) return false;
+    if (condition.from && !(start && start >= condition.from)) return false;
+    if (condition.to && !(end && end <= condition.to)) return false;
+    if (condition.effectiveOn) {
+        // 適用期間は終了日が開始日より前の場合は開始日のみ、未設定は無期限
+        const effectiveEnd = end && start && end < start ? start : end;
+        if (start && start > condition.effectiveOn) return false;
+        if (effectiveEnd && effectiveEnd < condition.effectiveOn) return false;
+    }
+    return true;
+}
+
+/**
+ * 一覧の並び順（掲載日降順（未設定が先頭）, ID降順）で比較
+ */
+function compareNoticeOrder(a, b) {
+    const aDate = a.postDate || '';
+    const bDate = b.postDate || '';
+    if (aDate !== bDate) {
+        if (!aDate) return -1;
+        if (!bDate) return 1;
+        return aDate > bDate ? -1 : 1;
+    }
+    return Number(b.id) - Number(a.id);
+}
+
+/**
+ * 一覧の並び順の位置に行を挿入
+ * 表示中の範囲より前（前のページ）や後（次のページ）に並ぶ場合は挿入しない
+ */
+function insertNoticeRow(tbody, condition, notice, checked) {
+    if (condition.keyword) return;
+    const rows = Array.from(tbody.querySelectorAll('tr[data-id]'));
+    const next = rows.find(r => compareNoticeOrder(notice, { id: r.dataset.id, postDate: r.dataset.postDate }) < 0);
+    if (next === rows[0] && rows.length && !condition.firstPage) return;
+    if (!next && rows.length >= condition.size) return;
+
+    const row = document.createElement('tr');
+    const cell = document.createElement('td');
+    const checkbox = document.createElement('input');
+    checkbox.type = 'checkbox';
+    checkbox.name = 'selectedIds';
+    checkbox.value = notice.id;
+    checkbox.checked = checked;
+    cell.appendChild(checkbox);
+    row.appendChild(cell);
+    for (let i = 0; i < 5; i++) row.appendChild(document.createElement('td'));
+    fillNoticeRow(row, notice);
+    tbody.insertBefore(row, next || null);
+
+    // ページサイズを超えた分は次のページに送られる
+    const all = tbody.querySelectorAll('tr[data-id]');
+    if (all.length > condition.size) all[all.length - 1].remove();
+    highlightRow(row);
+}
+
+/**
+ * 結果行の表示項目を設定（fragments/notice-rows.htmlと同じ列）
+ */
+function fillNoticeRow(row, notice) {
+    row.dataset.id = notice.id;
+    row.dataset.postDate = notice.postDate || '';
+    const cells = row.cells;
+    cells[1].textContent = notice.title || '';
+    cells[2].textContent = notice.categoryLabel || '';
+    cells[3].textContent = notice.postDate || '';
+    cells[4].textContent = notice.startDate || '';
+    cells[5].textContent = notice.endDate || '';
+}
+
+/**
+ * 行をアーカイブ済みとして表示し、選択できないようにする
+ */
+function markArchivedRow(row) {
+    row.classList.add('row-archived');
+    const checkbox = row.querySelector('input[name="selectedIds"]');
+    if (checkbox) {
+        checkbox.checked = false;
+        checkbox.disabled = true;
+        checkbox.title = 'アーカイブ済みのお知らせは更新・削除できません';
+    }
+}
+
+/**
+ * 変更された行を一時的に強調表示
+ */
+function highlightRow(row) {
+    row.classList.add('row-changed');
+    setTimeout(() => row.classList.remove('row-changed'), 3000);
+}
+
+/**
+ * 表示中の一覧に反映できない変更があることを表示
+ */
+function showLiveUpdateBanner() {
+    document.getElementById('liveUpdateBanner').style.display = 'flex';
+}
+
+/**
+ * 現在の検索条件で再検索
+ */
+function rerunSearch() {
+    document.getElementById('rerunSearchForm').submit();
+}
+
+document.addEventListener('DOMContentLoaded', startLiveUpdates);
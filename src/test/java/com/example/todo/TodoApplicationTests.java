@@ -1,11 +1,19 @@
 package com.example.todo;
 
+import com.example.todo.support.EmbeddedPostgresDatabase;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
 @SpringBootTest
 class TodoApplicationTests {
 
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) {
+		EmbeddedPostgresDatabase.register(registry);
+	}
+
 	@Test
 	void contextLoads() {
 	}
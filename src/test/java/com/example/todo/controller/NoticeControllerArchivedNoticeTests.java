@@ -0,0 +1,114 @@
+package com.example.todo.controller;
+
+import com.example.todo.service.NoticeArchiver;
+import com.example.todo.service.NoticeDataVersion;
+import com.example.todo.support.EmbeddedPostgresDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * アーカイブ済みのお知らせに対する一覧・更新・削除の検証
+ * アーカイブを含む検索で表示される行は選択できず、更新・削除を要求された場合はエラーとして一覧に戻る
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "notice.search.engine=jpa",
+        "notice.archive.retention=1d",
+        "notice.outbox.relay-interval=1d",
+        "spring.jpa.show-sql=false"
+})
+class NoticeControllerArchivedNoticeTests {
+
+    private static final String TITLE_PREFIX = "archived-";
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private NoticeArchiver archiver;
+
+    @Autowired
+    private NoticeDataVersion dataVersion;
+
+    private long activeId;
+    private long archivedId;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM t_notice");
+        jdbc.update("DELETE FROM t_notice_archive");
+        activeId = insert(TITLE_PREFIX + "active", LocalDate.of(2999, 12, 31));
+        archivedId = insert(TITLE_PREFIX + "ended", LocalDate.of(2000, 1, 31));
+        archiver.archive();
+        // JDBCで直接投入したため、一覧のキャッシュを破棄する
+        dataVersion.bump();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM t_notice_archive WHERE id = ?", Long.class, archivedId))
+                .isOne();
+    }
+
+    @Test
+    void listIncludingArchivedDisablesArchivedRows() throws Exception {
+        mvc.perform(get("/notice").param("title", TITLE_PREFIX).param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("resultRows", containsString("value=\"" + archivedId + "\" disabled")))
+                .andExpect(model().attribute("resultRows", not(containsString("value=\"" + activeId + "\" disabled"))));
+    }
+
+    @Test
+    void editFormForArchivedNoticeReturnsToListWithError() throws Exception {
+        mvc.perform(get("/notice/edit").param("id", Long.toString(archivedId)))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/notice"))
+                .andExpect(flash().attribute(ControllerConstants.ATTR_ERROR_MESSAGE,
+                        ControllerConstants.MSG_ARCHIVED_NOT_EDITABLE));
+    }
+
+    @Test
+    void deleteSkipsArchivedNoticeAndReportsIt() throws Exception {
+        mvc.perform(post("/notice/delete")
+                        .param("selectedIds", Long.toString(activeId), Long.toString(archivedId)))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute(ControllerConstants.ATTR_ERROR_MESSAGE,
+                        String.format(ControllerConstants.MSG_ARCHIVED_NOT_DELETED, 1)));
+
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM t_notice", Long.class)).isZero();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM t_notice_archive", Long.class)).isOne();
+    }
+
+    private long insert(String title, LocalDate endDate) {
+        LocalDate startDate = LocalDate.of(2000, 1, 1);
+        jdbc.update("INSERT INTO t_notice (title, category_cd, post_date, start_date, end_date, content,"
+                        + " created_at, updated_at) VALUES (?, '0', ?, ?, ?, 'content', now(), now())",
+                title, startDate, startDate, endDate);
+        return jdbc.queryForObject("SELECT id FROM t_notice WHERE title = ?", Long.class, title);
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.todo.controller;
+
+import com.example.todo.service.NoticeDataVersion;
+import com.example.todo.support.EmbeddedPostgresDatabase;
+import com.example.todo.support.SqlStatementCounter;
+import com.example.todo.support.SqlStatementCounterConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.example.todo.support.SqlStatementCounter.Kind.DELETE;
+import static com.example.todo.support.SqlStatementCounter.Kind.INSERT;
+import static com.example.todo.support.SqlStatementCounter.Kind.SELECT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * お知らせ画面の各エンドポイントが発行するSQL文の回数と形の検証
+ * エンティティの事前読み込みなど、SQLの往復が増える変更をビルドで検出する
+ * 組み込みPostgreSQLに対して実行するため、DBサーバーなしで実行できる
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SqlStatementCounterConfiguration.class)
+@TestPropertySource(properties = {
+        "notice.search.engine=jpa",
+        "notice.search.keyset-paging=true",
+        "notice.search.count-mode=exact",
+        // アウトボックスのリレーが発行するSQLを数えないよう、テスト中は実行しない
+        "notice.outbox.relay-interval=1d",
+        "spring.jpa.show-sql=false"
+})
+class NoticeControllerStatementCountTests {
+
+    private static final String TITLE_PREFIX = "sql-count-";
+    private static final int ROWS = 25;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private SqlStatementCounter sql;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private NoticeDataVersion dataVersion;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM t_notice");
+        LocalDate base = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDate postDate = base.plusDays(i);
+            jdbc.update("INSERT INTO t_notice (title, category_cd, post_date, start_date, end_date, content,"
+                            + " created_at, updated_at) VALUES (?, '0', ?, ?, ?, ?, now(), now())",
+                    TITLE_PREFIX + i, postDate, postDate, postDate.plusDays(30), "maintenance window " + i);
+        }
+        ids = jdbc.queryForList("SELECT id FROM t_notice ORDER BY id", Long.class);
+        // JDBCで直接投入したため、一覧のキャッシュを破棄する
+        dataVersion.bump();
+        sql.reset();
+    }
+
+    @Test
+    void listWithoutCriteriaIssuesNoStatement() throws Exception {
+        mvc.perform(get("/notice")).andExpect(status().isOk());
+
+        sql.assertCounts(0, 0, 0, 0);
+    }
+
+    @Test
+    void keysetSearchIssuesOneSummarySelectAndOneCount() throws Exception {
+        mvc.perform(get("/notice").param("title", TITLE_PREFIX).param("size", "10"))
+                .andExpect(status().isOk());
+
+        sql.assertCounts(2, 0, 0, 0);
+        assertThat(sql.sql(SELECT)).filteredOn(s -> s.contains("count(")).hasSize(1);
+        // 一覧は内容（content）を読み込まない
+        assertThat(sql.sql(SELECT)).noneMatch(s -> s.contains(".content"));
+    }
+
+    @Test
+    void keywordSearchIssuesOneSummarySelectAndOneCount() throws Exception {
+        mvc.perform(get("/notice").param("keyword", "maintenance").param("size", "10"))
+                .andExpect(status().isOk());
+
+        sql.assertCounts(2, 0, 0, 0);
+        assertThat(sql.sql(SELECT)).filteredOn(s -> s.contains("count(")).hasSize(1);
+        assertThat(sql.sql(SELECT)).noneMatch(s -> s.contains(".content"));
+    }
+
+    @Test
+    void repeatedSearchIsServedFromCache() throws Exception {
+        mvc.perform(get("/notice").param("title", TITLE_PREFIX).param("size", "10"))
+                .andExpect(status().isOk());
+        sql.reset();
+
+        mvc.perform(get("/notice").param("title", TITLE_PREFIX).param("size", "10"))
+                .andExpect(status().isOk());
+
+        sql.assertCounts(0, 0, 0, 0);
+    }
+
+    @Test
+    void editFormIssuesOneSelect() throws Exception {
+        mvc.perform(get("/notice/edit").param("id", ids.get(0).toString()))
+                .andExpect(status().isOk());
+
+        sql.assertCounts(1, 0, 0, 0);
+    }
+
+    @Test
+    void reopenedEditFormIsServedFromEntityCache() throws Exception {
+        mvc.perform(get("/notice/edit").param("id", ids.get(0).toString()))
+                .andExpect(status().isOk());
+        sql.reset();
+
+        mvc.perform(get("/notice/edit").param("id", ids.get(0).toString()))
+                .andExpect(status().isOk());
+
+        sql.assertCounts(0, 0, 0, 0);
+    }
+
+    @Test
+    void createIssuesOneInsertWithoutSelect() throws Exception {
+        mvc.perform(post("/notice")
+                        .param("title", TITLE_PREFIX + "new")
+                        .param("category", "0")
+                        .param("postDate", "2024-03-01")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31")
+                        .param("content", "created"))
+                .andExpect(status().is3xxRedirection());
+
+        sql.assertCounts(0, 2, 0, 0);
+        assertOneOutboxInsert();
+    }
+
+    @Test
+    void updateIssuesOneVersionedUpdateWithoutSelect() throws Exception {
+        mvc.perform(updateRequest(ids.get(0), 0))
+                .andExpect(status().is3xxRedirection());
+
+        sql.assertCounts(0, 1, 1, 0);
+        assertOneOutboxInsert();
+    }
+
+    @Test
+    void conflictingUpdateChecksExistenceOnce() throws Exception {
+        mvc.perform(updateRequest(ids.get(0), 99))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute(ControllerConstants.ATTR_CONFLICT, true));
+
+        sql.assertCounts(1, 0, 1, 0);
+    }
+
+    @Test
+    void deleteSelectedIssuesOneDeleteWithoutSelect() throws Exception {
+        mvc.perform(post("/notice/delete")
+                        .param("selectedIds", ids.get(0).toString(), ids.get(1).toString()))
+                .andExpect(status().is3xxRedirection());
+
+        sql.assertCounts(0, 1, 0, 1);
+        assertOneOutboxInsert();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM t_notice", Long.class)).isEqualTo(ROWS - 2);
+    }
+
+    @Test
+    void deleteMatchingIssuesOneIdSelectAndOneDeletePerBatch() throws Exception {
+        mvc.perform(post("/notice/delete-matching").param("title", TITLE_PREFIX))
+                .andExpect(status().is3xxRedirection());
+
+        sql.assertCounts(1, 1, 0, 1);
+        assertOneOutboxInsert();
+        assertThat(sql.sql(DELETE).get(0)).doesNotContain("select");
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM t_notice", Long.class)).isZero();
+    }
+
+    /**
+     * 変更はコミット直前に1回のバッチINSERTでアウトボックスに記録される
+     */
+    private void assertOneOutboxInsert() {
+        assertThat(sql.sql(INSERT)).filteredOn(s -> s.contains("t_notice_outbox")).hasSize(1);
+    }
+
+    private RequestBuilder updateRequest(long id, long version) {
+        return post("/notice/update")
+                .param("id", Long.toString(id))
+                .param("version", Long.toString(version))
+                .param("title", TITLE_PREFIX + "updated")
+                .param("category", "1")
+                .param("postDate", "2024-02-01")
+                .param("startDate", "2024-02-01")
+                .param("endDate", "2024-02-29")
+                .param("content", "updated");
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.todo.controller.api;
+
+import com.example.todo.domain.Notice;
+import com.example.todo.service.bulk.NoticeImportLine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 一括登録の入力の読み込みと検証
+ * CSVの引用符（区切り文字・改行・二重引用符のエスケープ）、NDJSONの空行、入力エラーの行番号とメッセージを確認する
+ */
+class NoticeImportReaderTests {
+
+    private static final String CSV_HEADER = "title,category_cd,post_date,start_date,end_date,content\r\n";
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void setUpValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void csvQuotedFieldsKeepCommasAndEscapedQuotes() {
+        List<NoticeImportLine> lines = read(NoticeExportFormat.CSV, CSV_HEADER
+                + "\"メンテナンス, 第1回\",0,2024-04-01,2024-04-01,2024-04-30,\"「\"\"重要\"\"」のお知らせ\"\r\n");
+
+        assertThat(lines).hasSize(1);
+        Notice notice = lines.get(0).notice();
+        assertThat(lines.get(0).errors()).isEmpty();
+        assertThat(notice.getTitle()).isEqualTo("メンテナンス, 第1回");
+        assertThat(notice.getContent()).isEqualTo("「\"重要\"」のお知らせ");
+        assertThat(notice.getPostDate()).isEqualTo(LocalDate.of(2024, 4, 1));
+        assertThat(notice.getEndDate()).isEqualTo(LocalDate.of(2024, 4, 30));
+    }
+
+    @Test
+    void csvQuotedNewlinesStayInFieldAndAdvanceLineNumbers() {
+        List<NoticeImportLine> lines = read(NoticeExportFormat.CSV, CSV_HEADER
+                + "first,0,2024-04-01,2024-04-01,2024-04-30,\"1行目\r\n2行目\n3行目\"\r\n"
+                + "second,1,2024-04-02,2024-04-02,2024-04-30,本文\r\n");
+
+        assertThat(lines).extracting(NoticeImportLine::lineNumber).containsExactly(2L, 5L);
+        assertThat(lines.get(0).notice().getContent()).isEqualTo("1行目\r\n2行目\n3行目");
+        assertThat(lines.get(1).notice().getTitle()).isEqualTo("second");
+    }
+
+    @Test
+    void csvInvalidDateIsReportedWithLineNumber() {
+        List<NoticeImportLine> lines = read(NoticeExportFormat.CSV, CSV_HEADER
+                + "valid,0,2024-04-01,2024-04-01,2024-04-30,本文\r\n"
+                + "invalid,0,2024-02-30,2024-04-01,2024-13-01,本文\r\n"
+                + "reversed,0,2024-04-01,2024-04-30,2024-04-01,本文\r\n"
+                + "columns,0,2024-04-01\r\n");
+
+        assertThat(lines).extracting(NoticeImportLine::lineNumber).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(lines.get(0).isValid()).isTrue();
+        assertThat(lines.get(1).notice()).isNull();
+        assertThat(lines.get(1).errors())
+                .containsExactly("掲載日には正しい日付を入力してください。", "適用終了日には正しい日付を入力してください。");
+        assertThat(lines.get(2).errors()).containsExactly("適用期間は開始日が終了日より前になるよう入力してください。");
+        assertThat(lines.get(3).errors()).containsExactly("列数がヘッダー行と一致しません。");
+    }
+
+    @Test
+    void csvHeaderWithoutRequiredColumnsIsRejected() {
+        assertThatThrownBy(() -> read(NoticeExportFormat.CSV, "title,category_cd\r\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("post_date");
+    }
+
+    @Test
+    void ndjsonSkipsBlankLines() {
+        List<NoticeImportLine> lines = read(NoticeExportFormat.NDJSON, "\n"
+                + "{\"title\":\"first\",\"categoryCode\":\"0\",\"postDate\":\"2024-04-01\","
+                + "\"startDate\":\"2024-04-01\",\"endDate\":\"2024-04-30\",\"content\":\"本文\"}\n"
+                + "   \n"
+                + "\n"
+                + "{\"title\":\"second\",\"categoryCode\":\"1\",\"postDate\":\"2024-04-02\","
+                + "\"startDate\":\"2024-04-02\",\"endDate\":\"2024-04-30\",\"content\":\"本文\"}\n"
+                + "not json\n");
+
+        assertThat(lines).extracting(NoticeImportLine::lineNumber).containsExactly(2L, 5L, 6L);
+        assertThat(lines.get(0).notice().getTitle()).isEqualTo("first");
+        assertThat(lines.get(1).notice().getCategoryCode()).isEqualTo("1");
+        assertThat(lines.get(2).errors()).containsExactly("JSONの形式が正しくありません。");
+    }
+
+    private List<NoticeImportLine> read(NoticeExportFormat format, String input) {
+        NoticeImportReader reader = new NoticeImportReader(format, new BufferedReader(new StringReader(input)),
+                objectMapper, validator);
+        List<NoticeImportLine> lines = new ArrayList<>();
+        reader.forEachRemaining(lines::add);
+        return lines;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.todo.service;
+
+import com.example.todo.domain.Notice;
+import com.example.todo.service.bulk.NoticeImportLine;
+import com.example.todo.service.bulk.NoticeImportResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * お知らせ一括登録のスループット計測
+ * 1件ずつのNoticeService.create（変更前の登録経路）とNoticeImportServiceのバッチ登録で、1秒あたりの登録件数を比較し、
+ * バッチ登録が一定倍率以上速いことを確認する
+ * ローカルのPostgreSQLに対して実行するため通常のビルドでは実行しない（NOTICE_BENCHMARK=true で有効）
+ * 計測時は spring.jpa.show-sql=false とすること
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "NOTICE_BENCHMARK", matches = "true")
+class NoticeImportBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(NoticeImportBenchmarkTests.class);
+
+    private static final String TITLE_PREFIX = "import-benchmark-";
+    private static final int ROWS = 20_000;
+    /** バッチ登録に求める1件ずつの登録に対する速度比 */
+    private static final double MIN_SPEEDUP = 2.0;
+
+    @Autowired
+    private NoticeService noticeService;
+
+    @Autowired
+    private NoticeImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("DELETE FROM t_notice WHERE title LIKE ?", TITLE_PREFIX + "%");
+    }
+
+    @Test
+    void compareRowsPerSecond() {
+        long startedAt = System.nanoTime();
+        for (long i = 1; i <= ROWS; i++) {
+            noticeService.create(notice(i));
+        }
+        double singleRowsPerSecond = ROWS * 1_000_000_000.0 / (System.nanoTime() - startedAt);
+
+        Iterator<NoticeImportLine> lines = LongStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> NoticeImportLine.valid(i, notice(i)))
+                .iterator();
+        NoticeImportResult result = importService.importNotices(lines);
+
+        log.info("Notice import benchmark ({} rows): create one by one {} rows/s, bulk import {} rows/s",
+                ROWS, Math.round(singleRowsPerSecond), Math.round(result.rowsPerSecond()));
+        assertThat(result.imported()).isEqualTo(ROWS);
+        assertThat(result.rejected()).isZero();
+        assertThat(result.rowsPerSecond()).isGreaterThanOrEqualTo(singleRowsPerSecond * MIN_SPEEDUP);
+    }
+
+    private static Notice notice(long i) {
+        LocalDate postDate = LocalDate.of(2024, 1, 1).plusDays(i % 365);
+        Notice notice = new Notice();
+        notice.setTitle(TITLE_PREFIX + i);
+        notice.setCategoryCode(i % 2 == 0 ? "0" : "1");
+        notice.setPostDate(postDate);
+        notice.setStartDate(postDate);
+        notice.setEndDate(postDate.plusDays(30));
+        notice.setContent("一括登録の計測用データ " + i);
+        return notice;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.todo.service.index;
+
+import com.example.todo.domain.NoticeSummary;
+import com.example.todo.repository.NoticeRepository;
+import com.example.todo.service.NoticeSearchQueryCompiler;
+import com.example.todo.service.query.NoticeCursor;
+import com.example.todo.service.query.NoticeSearchCondition;
+import com.example.todo.support.EmbeddedPostgresDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * インメモリ検索インデックスとJPAでの検索（NoticeSearchQueryCompilerが組み立てるクエリ）の結果が一致することを検証
+ * 掲載日の未設定・同日・適用終了日が開始日より前の行を含むデータで、OFFSETページング・キーセットページング・件数を比較する
+ * 候補を並べ替える経路と並び順に走査する経路の両方を通るよう、候補が多い条件と少ない条件を含める
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+        "notice.search.engine=index",
+        "spring.jpa.show-sql=false"
+})
+class NoticeSearchIndexConsistencyTests {
+
+    private static final Sort LIST_ORDER = Sort.by(Sort.Direction.DESC, "postDate", "id");
+    private static final int ROWS = 15_000;
+    private static final int PAGE_SIZE = 25;
+    private static final LocalDate BASE = LocalDate.of(2024, 1, 1);
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @Autowired
+    private NoticeSearchIndex index;
+
+    @Autowired
+    private NoticeRepository repo;
+
+    @Autowired
+    private NoticeSearchQueryCompiler queries;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeAll
+    void setUp() {
+        jdbc.update("DELETE FROM t_notice");
+        jdbc.update("INSERT INTO t_notice (title, category_cd, post_date, start_date, end_date, content,"
+                + " created_at, updated_at)"
+                + " SELECT 'Notice-' || g || CASE WHEN g % 7 = 0 THEN ' Maintenance' ELSE '' END,"
+                + " (g % 2)::text,"
+                + " CASE WHEN g % 50 = 0 THEN NULL ELSE ?::date + g % 120 END,"
+                + " ?::date + g % 90,"
+                + " CASE WHEN g % 5 = 0 THEN NULL ELSE ?::date + g % 90 + g % 40 - 5 END,"
+                + " 'content ' || g, now(), now()"
+                + " FROM generate_series(1, ?) g", BASE, BASE, BASE, ROWS);
+        index.requestRebuild().join();
+    }
+
+    static Stream<NoticeSearchCondition> conditions() {
+        return Stream.of(
+                condition(null, null, null, null, null, null),
+                condition("notice", null, null, null, null, null),
+                condition("7", null, null, null, null, null),
+                condition("ce-12", null, null, null, null, null),
+                condition("MAINTENANCE", null, null, null, null, null),
+                condition(null, "1", null, null, null, null),
+                condition(null, null, BASE.plusDays(10), null, null, null),
+                condition(null, "0", BASE.plusDays(10), null, null, null),
+                condition(null, null, null, BASE.plusDays(5), null, null),
+                condition(null, null, null, null, BASE.plusDays(20), null),
+                condition(null, null, null, null, null, LocalDate.now()),
+                condition(null, "0", null, null, null, BASE.plusDays(30)),
+                condition("notice", null, null, BASE.plusDays(5), BASE.plusDays(80), null));
+    }
+
+    @ParameterizedTest
+    @MethodSource("conditions")
+    void slicesMatchJpa(NoticeSearchCondition condition) {
+        assertThat(index.supports(condition)).isTrue();
+        for (int page : new int[]{0, 3}) {
+            Pageable pageable = PageRequest.of(page, PAGE_SIZE, LIST_ORDER);
+            Slice<NoticeSummary> jpa = repo.findSummarySlice(queries.summaries(condition, null, LIST_ORDER), pageable);
+            Slice<NoticeSummary> indexed = index.findSlice(condition, pageable);
+
+            assertThat(indexed.getContent()).containsExactlyElementsOf(jpa.getContent());
+            assertThat(indexed.hasNext()).isEqualTo(jpa.hasNext());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("conditions")
+    void keysetPagesMatchJpa(NoticeSearchCondition condition) {
+        NoticeCursor cursor = null;
+        for (int page = 0; page < 3; page++) {
+            List<NoticeSummary> jpa = repo.findSummaries(queries.summaries(condition, cursor, LIST_ORDER), PAGE_SIZE);
+            assertThat(index.seek(condition, cursor, PAGE_SIZE)).containsExactlyElementsOf(jpa);
+            if (jpa.isEmpty()) {
+                return;
+            }
+            NoticeSummary last = jpa.get(jpa.size() - 1);
+            cursor = NoticeCursor.after(last.postDate(), last.id());
+        }
+        // 最後に取得したページの末尾から前ページ方向へ戻る
+        NoticeCursor backward = NoticeCursor.before(cursor.postDate(), cursor.id());
+        List<NoticeSummary> jpa = repo.findSummaries(
+                queries.summaries(condition, backward, LIST_ORDER.reverse()), PAGE_SIZE);
+        assertThat(index.seek(condition, backward, PAGE_SIZE)).containsExactlyElementsOf(jpa);
+    }
+
+    @ParameterizedTest
+    @MethodSource("conditions")
+    void countsMatchJpa(NoticeSearchCondition condition) {
+        assertThat(index.count(condition)).isEqualTo(repo.countMatching(queries.count(condition)));
+    }
+
+    private static NoticeSearchCondition condition(String title, String categoryCode, LocalDate postDate,
+                                                   LocalDate effectiveFrom, LocalDate effectiveTo,
+                                                   LocalDate effectiveOn) {
+        return new NoticeSearchCondition(title, categoryCode, postDate, effectiveFrom, effectiveTo,
+                null, effectiveOn, false);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.todo.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * テスト用の組み込みPostgreSQL
+ * 依存ライブラリに含まれるPostgreSQLのバイナリをローカルで起動するため、DockerやDBサーバーがなくても実行できる
+ * 全文検索・daterangeなどPostgreSQL固有の機能を使うため、H2などの組み込みDBは使用しない
+ * テストJVMで1つだけ起動し、JVM終了時に停止する
+ */
+public final class EmbeddedPostgresDatabase {
+
+    private static EmbeddedPostgres postgres;
+
+    private EmbeddedPostgresDatabase() {
+    }
+
+    /**
+     * 組み込みPostgreSQLを起動し、接続先をSpringの設定として登録
+     * スキーマはアプリケーション起動時にFlywayで作成される
+     */
+    public static void register(DynamicPropertyRegistry registry) {
+        EmbeddedPostgres db = start();
+        registry.add("spring.datasource.url", () -> db.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    private static synchronized EmbeddedPostgres start() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to start embedded PostgreSQL", ex);
+            }
+            EmbeddedPostgres started = postgres;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException ignored) {
+                    // JVM終了時のため無視する
+                }
+            }));
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.todo.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 発行されたSQL文を記録するリスナー（datasource-proxy）
+ * テストでリクエストごとのSQL発行回数と文の形を検証するために使用する
+ * JDBCバッチは1回の発行として数える
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    /**
+     * SQL文の種類
+     */
+    public enum Kind {
+        SELECT,
+        INSERT,
+        UPDATE,
+        DELETE,
+        /** シーケンスからの採番（nextval） */
+        SEQUENCE,
+        OTHER
+    }
+
+    /**
+     * 記録したSQL文
+     * @param kind 種類
+     * @param sql SQL文
+     * @param batchSize JDBCバッチの件数（バッチでない場合0）
+     */
+    public record Statement(Kind kind, String sql, int batchSize) {
+    }
+
+    private final List<Statement> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo query : queryInfoList) {
+            statements.add(new Statement(kindOf(query.getQuery()), query.getQuery(), execInfo.getBatchSize()));
+        }
+    }
+
+    /**
+     * 記録をクリア
+     */
+    public void reset() {
+        statements.clear();
+    }
+
+    /**
+     * 記録したSQL文（発行順）
+     */
+    public List<Statement> statements() {
+        return List.copyOf(statements);
+    }
+
+    /**
+     * 指定した種類のSQL文（発行順）
+     */
+    public List<String> sql(Kind kind) {
+        return statements.stream().filter(s -> s.kind() == kind).map(Statement::sql).toList();
+    }
+
+    /**
+     * 指定した種類のSQL文の発行回数
+     */
+    public long count(Kind kind) {
+        return statements.stream().filter(s -> s.kind() == kind).count();
+    }
+
+    /**
+     * SELECT・INSERT・UPDATE・DELETEの発行回数を検証
+     * シーケンスからの採番はallocationSize件ごとにしか発行されず、実行順に依存するため対象外とする
+     */
+    public void assertCounts(long selects, long inserts, long updates, long deletes) {
+        assertThat(List.of(count(Kind.SELECT), count(Kind.INSERT), count(Kind.UPDATE), count(Kind.DELETE)))
+                .as("select, insert, update, delete counts of statements:%n%s", this)
+                .containsExactly(selects, inserts, updates, deletes);
+    }
+
+    @Override
+    public String toString() {
+        return statements.isEmpty() ? "(none)" : statements.stream()
+                .map(s -> s.kind() + (s.batchSize() > 0 ? " (batch " + s.batchSize() + ")" : "") + ": " + s.sql())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static Kind kindOf(String sql) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (head.contains("nextval(")) {
+            return Kind.SEQUENCE;
+        }
+        if (head.startsWith("select") || head.startsWith("with")) {
+            return Kind.SELECT;
+        }
+        if (head.startsWith("insert")) {
+            return Kind.INSERT;
+        }
+        if (head.startsWith("update")) {
+            return Kind.UPDATE;
+        }
+        if (head.startsWith("delete")) {
+            return Kind.DELETE;
+        }
+        return Kind.OTHER;
+    }
+}